@@ -1,10 +1,65 @@
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
 
 public class randomized_quick_sort {
 
     private static Random random = new Random();
 
+    // Đoạn có ít hơn ngần này phần tử được sắp xếp bằng mạng sắp xếp
+    private static final int NETWORK_SORT_THRESHOLD = 32;
+
+    // Đoạn lớn hơn ngần này được phân vùng song song trong chế độ song song
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    // NETWORKS[n] chứa các cặp so sánh-đổi chỗ (i, j) sắp xếp n phần tử
+    private static final int[][] NETWORKS = new int[NETWORK_SORT_THRESHOLD + 1][];
+
+    static {
+        // Mạng odd-even merge sort của Batcher cho lũy thừa 2 kế tiếp, bỏ đi
+        // các cặp chạm tới chỉ số >= n (coi các phần tử thiếu là +vô cùng)
+        for (int n = 2; n <= NETWORK_SORT_THRESHOLD; n++) {
+            int size = Integer.highestOneBit(n - 1) << 1;
+            int[] pairs = new int[size * size];
+            int count = 0;
+            for (int p = 1; p < size; p <<= 1) {
+                for (int k = p; k >= 1; k >>= 1) {
+                    for (int j = k % p; j + k < n; j += 2 * k) {
+                        for (int i = 0; i < k && i + j + k < n; i++) {
+                            if ((i + j) / (2 * p) == (i + j + k) / (2 * p)) {
+                                pairs[count++] = i + j;
+                                pairs[count++] = i + j + k;
+                            }
+                        }
+                    }
+                }
+            }
+            NETWORKS[n] = Arrays.copyOf(pairs, count);
+        }
+    }
+
+    // Sắp xếp arr[low..high] bằng mạng sắp xếp, không có nhánh phụ thuộc dữ liệu
+    private static void networkSort(int[] arr, int low, int high) {
+        int n = high - low + 1;
+        if (n <= 1) {
+            return;
+        }
+        int[] network = NETWORKS[n];
+        for (int c = 0; c < network.length; c += 2) {
+            int i = low + network[c];
+            int j = low + network[c + 1];
+            int a = arr[i];
+            int b = arr[j];
+            arr[i] = Math.min(a, b);
+            arr[j] = Math.max(a, b);
+        }
+    }
+
     // Hàm phân vùng
     private static int partition(int[] arr, int low, int high) {
         // Chọn một pivot ngẫu nhiên và đặt nó ở cuối
@@ -33,11 +88,296 @@ public class randomized_quick_sort {
 
     // Hàm sắp xếp nhanh ngẫu nhiên
     public static void randomizedQuickSort(int[] arr, int low, int high) {
-        if (low < high) {
-            int pi = partition(arr, low, high);
-            randomizedQuickSort(arr, low, pi - 1);
-            randomizedQuickSort(arr, pi + 1, high);
+        if (high - low < NETWORK_SORT_THRESHOLD) {
+            networkSort(arr, low, high);
+            return;
+        }
+        int pi = partition(arr, low, high);
+        randomizedQuickSort(arr, low, pi - 1);
+        randomizedQuickSort(arr, pi + 1, high);
+    }
+
+    // Phân vùng ba phần arr[low..high] quanh một pivot ngẫu nhiên: < pivot, == pivot, > pivot.
+    // Giống partition nhưng gom các phần tử bằng pivot vào giữa, nên mảng nhiều giá trị
+    // trùng lặp (ví dụ độ trễ tính theo ms) vẫn giữ được thời gian kỳ vọng O(n).
+    // Trả về hai biên lt và gt của đoạn bằng pivot, gói vào một long để không cấp phát.
+    private static long partition3(int[] arr, int low, int high) {
+        int pivot = arr[low + ThreadLocalRandom.current().nextInt(high - low + 1)];
+        int lt = low, gt = high, i = low;
+
+        while (i <= gt) {
+            int value = arr[i];
+            if (value < pivot) {
+                swap(arr, lt++, i++);
+            } else if (value > pivot) {
+                swap(arr, i, gt--);
+            } else {
+                i++;
+            }
+        }
+        return ((long) lt << 32) | (gt & 0xFFFFFFFFL);
+    }
+
+    // Chọn phần tử nhỏ thứ k (tính từ 0) bằng quickselect ngẫu nhiên, thời gian kỳ vọng O(n),
+    // không cấp phát bộ nhớ. Mảng bị hoán vị: sau khi gọi, arr[k] là phần tử thứ k,
+    // các phần tử trước nó không lớn hơn và các phần tử sau nó không nhỏ hơn.
+    public static int select(int[] arr, int k) {
+        if (k < 0 || k >= arr.length) {
+            throw new IllegalArgumentException("Rank out of range: " + k);
+        }
+        int low = 0, high = arr.length - 1;
+
+        while (high - low >= NETWORK_SORT_THRESHOLD) {
+            long bounds = partition3(arr, low, high);
+            int lt = (int) (bounds >> 32);
+            int gt = (int) bounds;
+            if (k < lt) {
+                high = lt - 1;
+            } else if (k > gt) {
+                low = gt + 1;
+            } else {
+                return arr[k];
+            }
+        }
+        networkSort(arr, low, high);
+        return arr[k];
+    }
+
+    // Trung vị của mảng (trung bình hai phần tử giữa nếu số phần tử chẵn). Mảng bị hoán vị.
+    public static double median(int[] arr) {
+        if (arr.length == 0) {
+            throw new IllegalArgumentException("Array must not be empty");
+        }
+        int mid = (arr.length - 1) / 2;
+        int lower = select(arr, mid);
+        if (arr.length % 2 == 1) {
+            return lower;
+        }
+
+        // Sau select, mọi phần tử sau vị trí mid đều không nhỏ hơn, nên phần tử giữa thứ hai
+        // là phần tử nhỏ nhất trong số đó
+        int upper = arr[mid + 1];
+        for (int i = mid + 2; i < arr.length; i++) {
+            upper = Math.min(upper, arr[i]);
+        }
+        return ((double) lower + upper) / 2;
+    }
+
+    // Tính các phân vị theo phần trăm (ví dụ 50, 90, 99, 99.9) theo quy tắc nearest-rank.
+    // Trả về mảng kết quả mới; xem percentiles(arr, ps, result) cho bản không cấp phát.
+    public static int[] percentiles(int[] arr, double... ps) {
+        int[] result = new int[ps.length];
+        percentiles(arr, ps, result);
+        return result;
+    }
+
+    // Tính tất cả phân vị trong một lần multiselect: mỗi lần phân vùng chỉ đi tiếp vào các
+    // nửa còn chứa hạng cần tìm, nên tổng chi phí kỳ vọng vẫn là O(n) cho một số nhỏ phân vị.
+    // Không cấp phát bộ nhớ; kết quả ghi vào result[i] cho ps[i]. Mảng bị hoán vị.
+    public static void percentiles(int[] arr, double[] ps, int[] result) {
+        checkPercentiles(arr, ps, result);
+        multiSelect(arr, 0, arr.length - 1, ps, arr.length, result);
+    }
+
+    // Bản song song của percentiles cho mảng lớn. Các đoạn lớn được phân vùng song song từ
+    // arr sang scratch (và ngược lại ở mức tiếp theo), các đoạn độc lập chứa hạng cần tìm
+    // được xử lý song song. scratch phải dài ít nhất arr.length và có thể dùng lại giữa các
+    // lần gọi; sau khi gọi, nội dung của arr và scratch không xác định.
+    public static void percentilesParallel(int[] arr, double[] ps, int[] result, int[] scratch, int parallelism) {
+        checkPercentiles(arr, ps, result);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        if (scratch.length < arr.length) {
+            throw new IllegalArgumentException("Scratch length " + scratch.length + " is less than array length "
+                    + arr.length);
+        }
+        if (parallelism == 1 || arr.length <= PARALLEL_THRESHOLD) {
+            multiSelect(arr, 0, arr.length - 1, ps, arr.length, result);
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new SelectTask(arr, scratch, arr.length, 0, arr.length - 1, ps, result, parallelism));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Kiểm tra tham số chung của percentiles
+    private static void checkPercentiles(int[] arr, double[] ps, int[] result) {
+        if (arr.length == 0) {
+            throw new IllegalArgumentException("Array must not be empty");
+        }
+        if (result.length < ps.length) {
+            throw new IllegalArgumentException("Result length " + result.length + " is less than "
+                    + ps.length + " percentiles");
+        }
+        for (double p : ps) {
+            if (!(p >= 0 && p <= 100)) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100: " + p);
+            }
+        }
+    }
+
+    // Hạng (tính từ 0) của phân vị p theo quy tắc nearest-rank: ceil(p / 100 * n) - 1
+    private static int rankOf(double p, int n) {
+        int rank = (int) Math.ceil(p / 100 * n) - 1;
+        return Math.max(0, Math.min(n - 1, rank));
+    }
+
+    // Có hạng cần tìm nào nằm trong [low, high] không
+    private static boolean hasRank(double[] ps, int n, int low, int high) {
+        for (double p : ps) {
+            int rank = rankOf(p, n);
+            if (rank >= low && rank <= high) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Ghi kết quả cho mọi hạng trong [low, high], khi đoạn đó đã đúng vị trí trong arr
+    private static void resolve(int[] arr, double[] ps, int n, int low, int high, int[] result) {
+        for (int i = 0; i < ps.length; i++) {
+            int rank = rankOf(ps[i], n);
+            if (rank >= low && rank <= high) {
+                result[i] = arr[rank];
+            }
+        }
+    }
+
+    // Multiselect tuần tự trên arr[low..high]: đệ quy vào nửa trái, lặp trên nửa phải
+    private static void multiSelect(int[] arr, int low, int high, double[] ps, int n, int[] result) {
+        while (hasRank(ps, n, low, high)) {
+            if (high - low < NETWORK_SORT_THRESHOLD) {
+                networkSort(arr, low, high);
+                resolve(arr, ps, n, low, high, result);
+                return;
+            }
+
+            long bounds = partition3(arr, low, high);
+            int lt = (int) (bounds >> 32);
+            int gt = (int) bounds;
+            resolve(arr, ps, n, lt, gt, result);
+
+            multiSelect(arr, low, lt - 1, ps, n, result);
+            low = gt + 1;
+        }
+    }
+
+    // Tác vụ fork/join cho percentilesParallel. Đoạn [low, high] đang nằm trong src;
+    // khi phân vùng song song, kết quả được rải sang dst và hai mảng đổi vai ở mức sau.
+    // n là độ dài mảng gốc: scratch có thể dài hơn nên không lấy từ src.length.
+    private static final class SelectTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] src;
+        private final int[] dst;
+        private final int n;
+        private final int low;
+        private final int high;
+        private final double[] ps;
+        private final int[] result;
+        private final int parallelism;
+
+        SelectTask(int[] src, int[] dst, int n, int low, int high, double[] ps, int[] result, int parallelism) {
+            this.src = src;
+            this.dst = dst;
+            this.n = n;
+            this.low = low;
+            this.high = high;
+            this.ps = ps;
+            this.result = result;
+            this.parallelism = parallelism;
+        }
+
+        @Override
+        protected void compute() {
+            if (!hasRank(ps, n, low, high)) {
+                return;
+            }
+            if (high - low + 1 <= PARALLEL_THRESHOLD) {
+                multiSelect(src, low, high, ps, n, result);
+                return;
+            }
+
+            // Pivot là trung vị của ba mẫu ngẫu nhiên
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            int a = src[low + rnd.nextInt(high - low + 1)];
+            int b = src[low + rnd.nextInt(high - low + 1)];
+            int c = src[low + rnd.nextInt(high - low + 1)];
+            int pivot = Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+
+            // Mỗi khối đếm số phần tử <, == và > pivot, rồi rải vào đúng vùng của mình trong dst
+            int chunks = parallelism;
+            int[][] counts = new int[chunks][3];
+            int length = high - low + 1;
+            invokeAll(chunkTasks(chunks, chunk -> {
+                int[] count = counts[chunk];
+                for (int i = chunkStart(length, chunks, chunk), end = chunkStart(length, chunks, chunk + 1);
+                        i < end; i++) {
+                    int value = src[low + i];
+                    count[value < pivot ? 0 : value == pivot ? 1 : 2]++;
+                }
+            }));
+
+            int less = 0, equal = 0;
+            for (int[] count : counts) {
+                less += count[0];
+                equal += count[1];
+            }
+            int[] next = { low, low + less, low + less + equal };
+            for (int[] count : counts) {
+                for (int part = 0; part < 3; part++) {
+                    int size = count[part];
+                    count[part] = next[part];
+                    next[part] += size;
+                }
+            }
+
+            invokeAll(chunkTasks(chunks, chunk -> {
+                int[] offset = counts[chunk];
+                for (int i = chunkStart(length, chunks, chunk), end = chunkStart(length, chunks, chunk + 1);
+                        i < end; i++) {
+                    int value = src[low + i];
+                    dst[offset[value < pivot ? 0 : value == pivot ? 1 : 2]++] = value;
+                }
+            }));
+
+            int lt = low + less;
+            int gt = lt + equal - 1;
+            for (int i = 0; i < ps.length; i++) {
+                int rank = rankOf(ps[i], n);
+                if (rank >= lt && rank <= gt) {
+                    result[i] = pivot;
+                }
+            }
+
+            invokeAll(new SelectTask(dst, src, n, low, lt - 1, ps, result, parallelism),
+                    new SelectTask(dst, src, n, gt + 1, high, ps, result, parallelism));
+        }
+    }
+
+    // Tạo các tác vụ cho từng khối chỉ số [0, chunks)
+    private static List<RecursiveAction> chunkTasks(int chunks, IntConsumer body) {
+        List<RecursiveAction> tasks = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            int chunk = c;
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    body.accept(chunk);
+                }
+            });
         }
+        return tasks;
+    }
+
+    // Chỉ số bắt đầu của khối chunk khi chia đều n phần tử thành chunks khối
+    private static int chunkStart(int n, int chunks, int chunk) {
+        return (int) ((long) n * chunk / chunks);
     }
 
     public static void main(String[] args) {
@@ -52,5 +392,62 @@ public class randomized_quick_sort {
         randomizedQuickSort(arr2, 0, n2 - 1);
         System.out.println("Mảng đã sắp xếp 2 là:");
         System.out.println(Arrays.toString(arr2));
+
+        // Thống kê thứ tự mà không cần sắp xếp toàn bộ mảng
+        int[] arr3 = {12, 3, 5, 7, 4, 19, 26, 3, 8};
+        System.out.println("Phần tử nhỏ thứ 3 (k = 2): " + select(arr3.clone(), 2));
+        System.out.println("Trung vị: " + median(arr3.clone()));
+        System.out.println("p50/p90/p99: " + Arrays.toString(percentiles(arr3.clone(), 50, 90, 99)));
+
+        // So sánh với sắp xếp toàn bộ trên cửa sổ 10 triệu mẫu độ trễ (nhiều giá trị trùng)
+        Random rnd = new Random(42);
+        int[] latencies = new int[10_000_000];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = (int) Math.min(60_000, Math.exp(rnd.nextGaussian() * 1.2 + 3));
+        }
+        double[] ps = {50, 90, 99, 99.9};
+        int[] result = new int[ps.length];
+        int[] work = latencies.clone();
+        int[] scratch = new int[latencies.length];
+
+        long start = System.nanoTime();
+        percentiles(work, ps, result);
+        long selectTime = System.nanoTime() - start;
+
+        int[] parallelResult = new int[ps.length];
+        System.arraycopy(latencies, 0, work, 0, work.length);
+        start = System.nanoTime();
+        percentilesParallel(work, ps, parallelResult, scratch, Runtime.getRuntime().availableProcessors());
+        long parallelTime = System.nanoTime() - start;
+
+        System.arraycopy(latencies, 0, work, 0, work.length);
+        start = System.nanoTime();
+        Arrays.sort(work);
+        long sortTime = System.nanoTime() - start;
+
+        boolean correct = true;
+        for (int i = 0; i < ps.length; i++) {
+            int expected = work[(int) Math.max(0, Math.ceil(ps[i] / 100 * work.length) - 1)];
+            correct &= result[i] == expected && parallelResult[i] == expected;
+        }
+        System.out.println("p50/p90/p99/p999 của " + latencies.length + " mẫu: " + Arrays.toString(result)
+                + (correct ? " (khớp với sắp xếp)" : " (SAI)"));
+        System.out.printf("percentiles %.2f ms, percentilesParallel %.2f ms, Arrays.sort %.2f ms%n",
+                selectTime / 1e6, parallelTime / 1e6, sortTime / 1e6);
+
+        // scratch dài hơn mảng (ví dụ bộ đệm dùng lại từ lần gọi lớn hơn) vẫn cho kết quả đúng
+        int[] sample = Arrays.copyOf(latencies, 1_000_000);
+        int[] sortedSample = sample.clone();
+        Arrays.sort(sortedSample);
+        boolean oversized = true;
+        for (int extra : new int[] {1, 500_000, 1_000_000}) {
+            int[] sampleResult = new int[ps.length];
+            percentilesParallel(sample.clone(), ps, sampleResult, new int[sample.length + extra], 4);
+            for (int i = 0; i < ps.length; i++) {
+                int expected = sortedSample[(int) Math.max(0, Math.ceil(ps[i] / 100 * sample.length) - 1)];
+                oversized &= sampleResult[i] == expected;
+            }
+        }
+        System.out.println("percentilesParallel với scratch dài hơn mảng: " + (oversized ? "khớp" : "SAI"));
     }
 }
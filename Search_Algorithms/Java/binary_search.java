@@ -7,6 +7,10 @@
  */
 
 import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
 
 /**
  * @class BinarySearch
@@ -14,6 +18,9 @@ import java.util.Arrays;
  */
 public class binary_search {
 
+    // Query batches at or below this size are answered on the calling thread
+    private static final int BATCH_PARALLEL_THRESHOLD = 1 << 14;
+
     /**
      * @function binarySearch
      * @description Searches for a target value in a sorted array using binary
@@ -45,6 +52,100 @@ public class binary_search {
         return -1;
     }
 
+    /**
+     * @function binarySearch
+     * @description Binary search specialized for long arrays.
+     * @param arr    long[] - Sorted array to search in
+     * @param target long - Value to search for
+     * @returns int - Index of target if found, -1 if not found
+     */
+    public static int binarySearch(long[] arr, long target) {
+        if (arr == null || arr.length == 0) {
+            return -1;
+        }
+
+        int left = 0;
+        int right = arr.length - 1;
+
+        while (left <= right) {
+            int mid = left + (right - left) / 2;
+
+            if (arr[mid] == target) {
+                return mid;
+            } else if (arr[mid] < target) {
+                left = mid + 1;
+            } else {
+                right = mid - 1;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @function binarySearch
+     * @description Binary search specialized for double arrays. Values are
+     *              compared with < and ==, so -0.0 matches 0.0 and NaN is never
+     *              found.
+     * @param arr    double[] - Sorted array to search in
+     * @param target double - Value to search for
+     * @returns int - Index of target if found, -1 if not found
+     */
+    public static int binarySearch(double[] arr, double target) {
+        if (arr == null || arr.length == 0) {
+            return -1;
+        }
+
+        int left = 0;
+        int right = arr.length - 1;
+
+        while (left <= right) {
+            int mid = left + (right - left) / 2;
+
+            if (arr[mid] == target) {
+                return mid;
+            } else if (arr[mid] < target) {
+                left = mid + 1;
+            } else {
+                right = mid - 1;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @function binarySearch
+     * @description Binary search specialized for float arrays. Values are
+     *              compared with < and ==, so -0.0 matches 0.0 and NaN is never
+     *              found.
+     * @param arr    float[] - Sorted array to search in
+     * @param target float - Value to search for
+     * @returns int - Index of target if found, -1 if not found
+     */
+    public static int binarySearch(float[] arr, float target) {
+        if (arr == null || arr.length == 0) {
+            return -1;
+        }
+
+        int left = 0;
+        int right = arr.length - 1;
+
+        while (left <= right) {
+            int mid = left + (right - left) / 2;
+
+            if (arr[mid] == target) {
+                return mid;
+            } else if (arr[mid] < target) {
+                left = mid + 1;
+            } else {
+                right = mid - 1;
+            }
+        }
+
+        return -1;
+    }
+
     /**
      * @function binarySearchRecursive
      * @description Recursive implementation of binary search
@@ -177,6 +278,456 @@ public class binary_search {
         return left;
     }
 
+    /**
+     * @function binarySearchBatch
+     * @description Looks up many keys at once. The queries are sorted (the
+     *              input array is left unchanged) and answered in ascending
+     *              order, each search galloping forward from where the previous
+     *              one ended, so a batch costs O(m log m + m log(n / m)) instead
+     *              of m independent O(log n) searches.
+     * @param sortedData int[] - Sorted array to search in
+     * @param queries    int[] - Values to search for, in any order
+     * @param result     int[] - Receives, for each query, the index of its first
+     *                   occurrence or -1 if not found
+     * @returns void
+     */
+    public static void binarySearchBatch(int[] sortedData, int[] queries, int[] result) {
+        searchBatch(sortedData, queries, result, 1, binary_search::gallopLowerBound);
+    }
+
+    /**
+     * @function binarySearchBatchParallel
+     * @description Parallel binarySearchBatch: the sorted queries are split into
+     *              contiguous ranges and each thread walks the data for its own
+     *              range
+     * @param sortedData  int[] - Sorted array to search in
+     * @param queries     int[] - Values to search for, in any order
+     * @param result      int[] - Receives the index of each query's first
+     *                    occurrence, or -1
+     * @param parallelism int - Number of worker threads to use
+     * @returns void
+     */
+    public static void binarySearchBatchParallel(int[] sortedData, int[] queries, int[] result, int parallelism) {
+        searchBatch(sortedData, queries, result, parallelism, binary_search::gallopLowerBound);
+    }
+
+    /**
+     * @interface LowerBoundFrom
+     * @description One step of a batched search: the first index at or after
+     *              from whose value is not less than target. Every earlier query
+     *              was smaller, so the answer is never before from.
+     */
+    interface LowerBoundFrom {
+        int find(int[] data, int from, int target);
+    }
+
+    /**
+     * @function searchBatch
+     * @description Shared driver for the batched searches in this directory:
+     *              sorts (query, position) pairs, walks them in ascending order
+     *              with the given step, and writes first-occurrence results
+     * @param data        int[] - Sorted array to search in
+     * @param queries     int[] - Values to search for
+     * @param result      int[] - Receives an index or -1 per query
+     * @param parallelism int - Number of worker threads to use
+     * @param step        LowerBoundFrom - Search step of the calling algorithm
+     * @returns void
+     */
+    static void searchBatch(int[] data, int[] queries, int[] result, int parallelism, LowerBoundFrom step) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        if (result.length < queries.length) {
+            throw new IllegalArgumentException("Result length " + result.length + " is less than "
+                    + queries.length + " queries");
+        }
+        int m = queries.length;
+        int n = data.length;
+
+        // Query value in the high half, original position in the low half
+        long[] order = new long[m];
+        boolean ascending = true;
+        for (int i = 0; i < m; i++) {
+            order[i] = ((long) queries[i] << 32) | i;
+            ascending &= i == 0 || queries[i - 1] <= queries[i];
+        }
+        int chunks = m <= BATCH_PARALLEL_THRESHOLD ? 1 : parallelism;
+        // Queries that arrive in order, e.g. keys from another sorted source, need no sort
+        if (!ascending && chunks > 1) {
+            Arrays.parallelSort(order);
+        } else if (!ascending) {
+            Arrays.sort(order);
+        }
+
+        ForkJoinPool pool = chunks > 1 ? new ForkJoinPool(chunks) : null;
+        try {
+            runChunks(pool, chunks, c -> {
+                int start = chunkStart(m, chunks, c);
+                int end = chunkStart(m, chunks, c + 1);
+                if (start == end) {
+                    return;
+                }
+                // Each chunk starts at its own first query, not at 0, so later
+                // chunks do not walk over the data that earlier ones cover
+                int position = findInsertPosition(data, (int) (order[start] >> 32));
+                for (int j = start; j < end; j++) {
+                    int target = (int) (order[j] >> 32);
+                    position = step.find(data, position, target);
+                    result[(int) order[j]] = position < n && data[position] == target ? position : -1;
+                }
+            });
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * @function gallopLowerBound
+     * @description Exponential search forward from from, then binary search in
+     *              the last doubling interval
+     * @param data   int[] - Sorted array
+     * @param from   int - Index to start from
+     * @param target int - Value to search for
+     * @returns int - First index at or after from with data[index] &gt;= target
+     */
+    private static int gallopLowerBound(int[] data, int from, int target) {
+        int n = data.length;
+        if (from >= n || data[from] >= target) {
+            return from;
+        }
+
+        // data[from + bound / 2] < target holds throughout
+        int bound = 1;
+        while (bound < n - from && data[from + bound] < target) {
+            bound <<= 1;
+        }
+        int left = from + bound / 2 + 1;
+        int right = (int) Math.min((long) from + bound, n);
+
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (data[mid] < target) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+
+    /**
+     * @function chunkStart
+     * @description Starting index of a chunk when n items are split evenly
+     * @param n      int - Number of items
+     * @param chunks int - Number of chunks
+     * @param chunk  int - Chunk index (chunks gives the end of the last chunk)
+     * @returns int - Starting index of the chunk
+     */
+    static int chunkStart(int n, int chunks, int chunk) {
+        return (int) ((long) n * chunk / chunks);
+    }
+
+    /**
+     * @function runChunks
+     * @description Runs body for every chunk index, in the pool when one is given
+     *              and on the calling thread otherwise
+     * @param pool   ForkJoinPool - Pool to run in, or null
+     * @param chunks int - Number of chunks
+     * @param body   IntConsumer - Work for one chunk
+     * @returns void
+     */
+    static void runChunks(ForkJoinPool pool, int chunks, IntConsumer body) {
+        if (pool == null) {
+            for (int c = 0; c < chunks; c++) {
+                body.accept(c);
+            }
+            return;
+        }
+        pool.invoke(new ChunkTask(body, 0, chunks));
+    }
+
+    /**
+     * @class ChunkTask
+     * @description Fork/join task running a body over the chunk indices [from, to)
+     */
+    private static final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final IntConsumer body;
+        private final int from;
+        private final int to;
+
+        ChunkTask(IntConsumer body, int from, int to) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkTask(body, from, mid), new ChunkTask(body, mid, to));
+        }
+    }
+
+    /**
+     * @class StaticSearchIndex
+     * @description Read-only search index over a sorted int array stored in
+     *              Eytzinger (breadth-first) order: the root at index 1 and the
+     *              children of node k at 2k and 2k + 1. The first levels of the
+     *              tree share a few cache lines that stay hot, and each step of
+     *              the search loop is a comparison turned into an index without
+     *              a branch, so there is no misprediction per level. Java has
+     *              no prefetch instruction, so single lookups load a descendant
+     *              a few levels ahead instead, and the batch methods walk several
+     *              queries through the tree in lockstep so their cache misses
+     *              overlap. The batch methods are where the layout pays off:
+     *              single lookups run at roughly the speed of
+     *              Arrays.binarySearch, sometimes slower, since each also pays a
+     *              dependent load into the rank array.
+     */
+    public static final class StaticSearchIndex {
+        // Queries walked through the tree together by the batch methods
+        private static final int BATCH_LANES = 8;
+
+        // Levels ahead of the current node that a lookup touches in advance
+        private static final int PREFETCH_LEVELS = 4;
+
+        // Largest key count for which every child index 2k + 1 still fits in an int
+        public static final int MAX_SIZE = (1 << 30) - 1;
+
+        private final int n;
+        private final int[] keys;
+        private final int[] rank;
+
+        /**
+         * @function StaticSearchIndex
+         * @description Builds the index in O(n)
+         * @param sorted int[] - Keys in ascending order (duplicates allowed)
+         * @throws IllegalArgumentException - If the keys are not sorted or there
+         *                                  are more than MAX_SIZE of them
+         */
+        public StaticSearchIndex(int[] sorted) {
+            if (sorted.length > MAX_SIZE) {
+                throw new IllegalArgumentException("Too many keys for a StaticSearchIndex: " + sorted.length);
+            }
+            for (int i = 1; i < sorted.length; i++) {
+                if (sorted[i - 1] > sorted[i]) {
+                    throw new IllegalArgumentException("Keys must be sorted; index " + i + " is out of order");
+                }
+            }
+            this.n = sorted.length;
+            this.keys = new int[n + 1];
+            this.rank = new int[n + 1];
+            fill(sorted, 1, 0);
+        }
+
+        /**
+         * @function fill
+         * @description In-order walk of the implicit tree assigning sorted keys
+         * @param sorted int[] - Keys in ascending order
+         * @param k      int - Current node
+         * @param next   int - Index of the next sorted key to place
+         * @returns int - Index of the next sorted key after this subtree
+         */
+        private int fill(int[] sorted, int k, int next) {
+            if (k <= n) {
+                next = fill(sorted, 2 * k, next);
+                keys[k] = sorted[next];
+                rank[k] = next++;
+                next = fill(sorted, 2 * k + 1, next);
+            }
+            return next;
+        }
+
+        /**
+         * @function size
+         * @description Number of keys in the index
+         * @returns int - Key count
+         */
+        public int size() {
+            return n;
+        }
+
+        /**
+         * @function lowerBoundNode
+         * @description Node holding the first key not less than target
+         * @param target int - Value to search for
+         * @returns int - Eytzinger node index, 0 if every key is less
+         */
+        private int lowerBoundNode(int target) {
+            int k = 1;
+            int touched = 0;
+            while (k <= n) {
+                // Load the first of the 16 descendants four levels down; nothing
+                // waits on it, so it acts as a prefetch for the coming steps
+                long ahead = (long) k << PREFETCH_LEVELS;
+                touched ^= keys[ahead <= n ? (int) ahead : 0];
+                k = 2 * k + (keys[k] < target ? 1 : 0);
+            }
+            // Undo the trailing right turns plus the final left turn
+            k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+            // Never true (k is not negative), but keeps the JIT from dropping the loads
+            return touched == Integer.MAX_VALUE && k < 0 ? -1 : k;
+        }
+
+        /**
+         * @function findInsertPosition
+         * @description Same result as binary_search.findInsertPosition on the
+         *              sorted keys
+         * @param target int - Value to insert
+         * @returns int - Index of the first key not less than target
+         */
+        public int findInsertPosition(int target) {
+            int k = lowerBoundNode(target);
+            return k == 0 ? n : rank[k];
+        }
+
+        /**
+         * @function findFirstOccurrence
+         * @description Same result as binary_search.findFirstOccurrence on the
+         *              sorted keys
+         * @param target int - Value to search for
+         * @returns int - Index of the first occurrence, -1 if not found
+         */
+        public int findFirstOccurrence(int target) {
+            int k = lowerBoundNode(target);
+            return k != 0 && keys[k] == target ? rank[k] : -1;
+        }
+
+        /**
+         * @function findLastOccurrence
+         * @description Same result as binary_search.findLastOccurrence on the
+         *              sorted keys
+         * @param target int - Value to search for
+         * @returns int - Index of the last occurrence, -1 if not found
+         */
+        public int findLastOccurrence(int target) {
+            if (target == Integer.MAX_VALUE) {
+                return n > 0 && keys[lastNode()] == target ? n - 1 : -1;
+            }
+            // The last occurrence is just before the insert position of target + 1
+            int end = findInsertPosition(target + 1);
+            return end > 0 && findFirstOccurrence(target) >= 0 ? end - 1 : -1;
+        }
+
+        /**
+         * @function contains
+         * @description Whether target is one of the keys
+         * @param target int - Value to search for
+         * @returns boolean - True if found
+         */
+        public boolean contains(int target) {
+            int k = lowerBoundNode(target);
+            return k != 0 && keys[k] == target;
+        }
+
+        /**
+         * @function findInsertPositions
+         * @description Batch form of findInsertPosition. Queries are processed
+         *              BATCH_LANES at a time, one tree level per step for all
+         *              lanes, so the memory accesses of different queries overlap.
+         * @param queries int[] - Values to look up
+         * @param result  int[] - Receives the insert position of each query
+         * @returns void
+         */
+        public void findInsertPositions(int[] queries, int[] result) {
+            searchLanes(queries, result, false);
+        }
+
+        /**
+         * @function findFirstOccurrences
+         * @description Batch form of findFirstOccurrence, walking the queries in
+         *              lockstep like findInsertPositions
+         * @param queries int[] - Values to look up
+         * @param result  int[] - Receives the first index of each query, or -1
+         * @returns void
+         */
+        public void findFirstOccurrences(int[] queries, int[] result) {
+            searchLanes(queries, result, true);
+        }
+
+        /**
+         * @function searchLanes
+         * @description Walks BATCH_LANES queries at a time down the tree, one
+         *              level per step for all lanes, and answers each from the
+         *              node it ends at
+         * @param queries    int[] - Values to look up
+         * @param result     int[] - Receives one answer per query
+         * @param occurrence boolean - True for first occurrences (or -1), false
+         *                   for insert positions
+         * @returns void
+         * @throws IllegalArgumentException - If result is shorter than queries
+         */
+        private void searchLanes(int[] queries, int[] result, boolean occurrence) {
+            if (result.length < queries.length) {
+                throw new IllegalArgumentException("Result length " + result.length + " is less than "
+                        + queries.length + " queries");
+            }
+            int[] lanes = new int[BATCH_LANES];
+            int q = 0;
+
+            for (; q + BATCH_LANES <= queries.length; q += BATCH_LANES) {
+                Arrays.fill(lanes, 1);
+                boolean active = n > 0;
+                while (active) {
+                    active = false;
+                    for (int lane = 0; lane < BATCH_LANES; lane++) {
+                        int k = lanes[lane];
+                        if (k <= n) {
+                            k = 2 * k + (keys[k] < queries[q + lane] ? 1 : 0);
+                            lanes[lane] = k;
+                            active |= k <= n;
+                        }
+                    }
+                }
+                for (int lane = 0; lane < BATCH_LANES; lane++) {
+                    int k = lanes[lane];
+                    k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+                    result[q + lane] = answer(k, queries[q + lane], occurrence);
+                }
+            }
+            for (; q < queries.length; q++) {
+                result[q] = answer(lowerBoundNode(queries[q]), queries[q], occurrence);
+            }
+        }
+
+        /**
+         * @function answer
+         * @description Result of a lookup that ended at node k
+         * @param k          int - Node of the first key not less than target, or 0
+         * @param target     int - Value looked up
+         * @param occurrence boolean - True for the first occurrence (or -1),
+         *                   false for the insert position
+         * @returns int - Sorted index answering the lookup
+         */
+        private int answer(int k, int target, boolean occurrence) {
+            if (occurrence) {
+                return k != 0 && keys[k] == target ? rank[k] : -1;
+            }
+            return k == 0 ? n : rank[k];
+        }
+
+        /**
+         * @function lastNode
+         * @description Node holding the largest key
+         * @returns int - Eytzinger node index
+         */
+        private int lastNode() {
+            int k = 1;
+            while (2 * k + 1 <= n) {
+                k = 2 * k + 1;
+            }
+            return k;
+        }
+    }
+
     /**
      * @function printArray
      * @description Prints the elements of an array
@@ -240,6 +791,62 @@ public class binary_search {
         int result5 = binarySearchRecursive(arr5, target5);
         System.out.println("Result: " + (result5 != -1 ? "Found at index " + result5 : "Not found"));
         System.out.println();
+
+        // Test case 6: Eytzinger-layout index gives the same answers as the plain searches
+        StaticSearchIndex index = new StaticSearchIndex(arr3);
+        System.out.println("StaticSearchIndex over: " + Arrays.toString(arr3));
+        System.out.println("First occurrence of 2: " + index.findFirstOccurrence(2)
+                + ", last occurrence of 2: " + index.findLastOccurrence(2)
+                + ", insert position of 0 / 9: " + index.findInsertPosition(0) + " / " + index.findInsertPosition(9));
+
+        Random random = new Random(1);
+        int[] keys = new int[10_001];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(5_000) - 2_500;
+        }
+        Arrays.sort(keys);
+        StaticSearchIndex large = new StaticSearchIndex(keys);
+        int[] queries = new int[20_000];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = random.nextInt(6_000) - 3_000;
+        }
+        int[] batch = new int[queries.length];
+        large.findFirstOccurrences(queries, batch);
+        boolean matches = true;
+        for (int i = 0; i < queries.length; i++) {
+            int q = queries[i];
+            matches &= large.findInsertPosition(q) == findInsertPosition(keys, q)
+                    && large.findFirstOccurrence(q) == findFirstOccurrence(keys, q)
+                    && large.findLastOccurrence(q) == findLastOccurrence(keys, q)
+                    && batch[i] == findFirstOccurrence(keys, q);
+        }
+        System.out.println("Matches plain binary search on " + queries.length + " queries: " + matches);
+        System.out.println();
+
+        // Test case 7: Batched lookups, sequential and parallel
+        int[] batchResult = new int[queries.length];
+        int[] parallelResult = new int[queries.length];
+        binarySearchBatch(keys, queries, batchResult);
+        binarySearchBatchParallel(keys, queries, parallelResult, 4);
+        boolean batchMatches = true;
+        for (int i = 0; i < queries.length; i++) {
+            batchMatches &= batchResult[i] == findFirstOccurrence(keys, queries[i])
+                    && parallelResult[i] == batchResult[i];
+        }
+        int[] few = new int[3];
+        binarySearchBatch(arr1, new int[] { 7, 11, 2 }, few);
+        System.out.println("Batch search for [7, 11, 2] in " + Arrays.toString(arr1) + ": " + Arrays.toString(few));
+        System.out.println("Batch results match findFirstOccurrence: " + batchMatches);
+        System.out.println();
+
+        // Test case 8: Primitive specializations
+        long[] longs = { -5_000_000_000L, -3, 0, 7, 9_000_000_000L };
+        float[] floats = { -1.5f, 0.25f, 3.0f, Float.POSITIVE_INFINITY };
+        System.out.println("Long array: " + Arrays.toString(longs) + ", binarySearch(9000000000) = "
+                + binarySearch(longs, 9_000_000_000L));
+        System.out.println("Float array: " + Arrays.toString(floats) + ", binarySearch(0.25f) = "
+                + binarySearch(floats, 0.25f) + ", binarySearch(1.0f) = " + binarySearch(floats, 1.0f));
+        System.out.println();
     }
 
     /**
@@ -271,6 +878,55 @@ public class binary_search {
                 System.out.printf("Array size %d, target %d: %.4f ms%n", size, target, duration);
             }
         }
+
+        // Many random lookups in a large array: Arrays.binarySearch against the Eytzinger index
+        int size = 1 << 24;
+        int[] arr = new int[size];
+        for (int i = 0; i < size; i++) {
+            arr[i] = 2 * i;
+        }
+        StaticSearchIndex index = new StaticSearchIndex(arr);
+        Random random = new Random(5);
+        int[] queries = new int[4_000_000];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = random.nextInt(2 * size);
+        }
+        int[] result = new int[queries.length];
+
+        for (int round = 0; round < 2; round++) {
+            long startTime = System.nanoTime();
+            long checksum = 0;
+            for (int q : queries) {
+                checksum += Arrays.binarySearch(arr, q);
+            }
+            double arraysTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+            startTime = System.nanoTime();
+            for (int q : queries) {
+                checksum += index.findInsertPosition(q);
+            }
+            double indexTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+            startTime = System.nanoTime();
+            index.findInsertPositions(queries, result);
+            double batchTime = (System.nanoTime() - startTime) / 1_000_000.0;
+            checksum += result[0];
+
+            startTime = System.nanoTime();
+            index.findFirstOccurrences(queries, result);
+            double occurrencesTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+            System.out.printf("%d lookups in %d keys: Arrays.binarySearch %.2f ms, StaticSearchIndex %.2f ms, "
+                    + "batched insert positions %.2f ms, batched first occurrences %.2f ms (checksum %d)%n",
+                    queries.length, size, arraysTime, indexTime, batchTime, occurrencesTime, checksum + result[0]);
+        }
+
+        // The same lookups answered as one sorted batch
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        long startTime = System.nanoTime();
+        binarySearchBatchParallel(arr, queries, result, parallelism);
+        System.out.printf("binarySearchBatchParallel (%d threads): %.2f ms%n", parallelism,
+                (System.nanoTime() - startTime) / 1_000_000.0);
     }
 
     /**
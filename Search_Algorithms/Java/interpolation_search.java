@@ -7,6 +7,7 @@
  */
 
 import java.util.Arrays;
+import java.util.Random;
 
 /**
  * @class InterpolationSearch
@@ -31,9 +32,49 @@ public class interpolation_search {
         int right = arr.length - 1;
 
         while (left <= right && target >= arr[left] && target <= arr[right]) {
-            // Calculate interpolation position
-            int pos = left + ((target - arr[left]) * (right - left)) / (arr[right] - arr[left]);
+            // Calculate interpolation position; bisect when every key in range is equal
+            int pos = arr[left] == arr[right] ? (left + right) >>> 1
+                    : left + (int) (((long) target - arr[left]) * (right - left) / ((long) arr[right] - arr[left]));
+
+            if (arr[pos] == target) {
+                return pos;
+            } else if (arr[pos] < target) {
+                left = pos + 1;
+            } else {
+                right = pos - 1;
+            }
+        }
+
+        return -1;
+    }
 
+    /**
+     * @function interpolationSearch
+     * @description Interpolation search specialized for long arrays. Probes are
+     *              interpolated in double, so key ranges wider than
+     *              Long.MAX_VALUE cannot overflow, and a probe that fails to
+     *              halve the range is followed by a bisection step.
+     * @param arr    long[] - Sorted array to search in
+     * @param target long - Value to search for
+     * @returns int - Index of target if found, -1 if not found
+     */
+    public static int interpolationSearch(long[] arr, long target) {
+        if (arr == null || arr.length == 0) {
+            return -1;
+        }
+
+        int left = 0;
+        int right = arr.length - 1;
+        boolean bisect = false;
+        while (left <= right && target >= arr[left] && target <= arr[right]) {
+            long low = arr[left];
+            long high = arr[right];
+            int pos = bisect || high == low ? (left + right) >>> 1
+                    : left + (int) (((double) target - low) / ((double) high - low) * (right - left));
+            // Rounding, or infinite keys, can put the estimate outside the range
+            pos = Math.max(left, Math.min(right, pos));
+
+            int size = right - left;
             if (arr[pos] == target) {
                 return pos;
             } else if (arr[pos] < target) {
@@ -41,6 +82,97 @@ public class interpolation_search {
             } else {
                 right = pos - 1;
             }
+            bisect = !bisect && right - left > size / 2;
+        }
+
+        return -1;
+    }
+
+    /**
+     * @function interpolationSearch
+     * @description Interpolation search specialized for double arrays. A probe
+     *              that fails to halve the range is followed by a bisection
+     *              step, and NaN is never found. Keys match only when exactly
+     *              equal (==), and infinite keys and trailing NaNs are handled;
+     *              use interpolationSearchForDoubles to match within a tolerance.
+     * @param arr    double[] - Sorted array to search in
+     * @param target double - Value to search for
+     * @returns int - Index of target if found, -1 if not found
+     */
+    public static int interpolationSearch(double[] arr, double target) {
+        if (arr == null || arr.length == 0) {
+            return -1;
+        }
+
+        int left = 0;
+        int right = arr.length - 1;
+        boolean bisect = false;
+        // NaN sorts last and would stop the range check below
+        while (right >= 0 && Double.isNaN(arr[right])) {
+            right--;
+        }
+
+        while (left <= right && target >= arr[left] && target <= arr[right]) {
+            double low = arr[left];
+            double high = arr[right];
+            int pos = bisect || high == low ? (left + right) >>> 1
+                    : left + (int) ((target - low) / (high - low) * (right - left));
+            // Rounding, or infinite keys, can put the estimate outside the range
+            pos = Math.max(left, Math.min(right, pos));
+
+            int size = right - left;
+            if (arr[pos] == target) {
+                return pos;
+            } else if (arr[pos] < target) {
+                left = pos + 1;
+            } else {
+                right = pos - 1;
+            }
+            bisect = !bisect && right - left > size / 2;
+        }
+
+        return -1;
+    }
+
+    /**
+     * @function interpolationSearch
+     * @description Interpolation search specialized for float arrays. A probe
+     *              that fails to halve the range is followed by a bisection
+     *              step, and NaN is never found.
+     * @param arr    float[] - Sorted array to search in
+     * @param target float - Value to search for
+     * @returns int - Index of target if found, -1 if not found
+     */
+    public static int interpolationSearch(float[] arr, float target) {
+        if (arr == null || arr.length == 0) {
+            return -1;
+        }
+
+        int left = 0;
+        int right = arr.length - 1;
+        boolean bisect = false;
+        // NaN sorts last and would stop the range check below
+        while (right >= 0 && Float.isNaN(arr[right])) {
+            right--;
+        }
+
+        while (left <= right && target >= arr[left] && target <= arr[right]) {
+            float low = arr[left];
+            float high = arr[right];
+            int pos = bisect || high == low ? (left + right) >>> 1
+                    : left + (int) (((double) target - low) / ((double) high - low) * (right - left));
+            // Rounding, or infinite keys, can put the estimate outside the range
+            pos = Math.max(left, Math.min(right, pos));
+
+            int size = right - left;
+            if (arr[pos] == target) {
+                return pos;
+            } else if (arr[pos] < target) {
+                left = pos + 1;
+            } else {
+                right = pos - 1;
+            }
+            bisect = !bisect && right - left > size / 2;
         }
 
         return -1;
@@ -74,8 +206,9 @@ public class interpolation_search {
             return -1;
         }
 
-        // Calculate interpolation position
-        int pos = left + ((target - arr[left]) * (right - left)) / (arr[right] - arr[left]);
+        // Calculate interpolation position; bisect when every key in range is equal
+        int pos = arr[left] == arr[right] ? (left + right) >>> 1
+                : left + (int) (((long) target - arr[left]) * (right - left) / ((long) arr[right] - arr[left]));
 
         if (arr[pos] == target) {
             return pos;
@@ -109,8 +242,10 @@ public class interpolation_search {
         int rightValue = getValue.apply(arr[right]);
 
         while (left <= right && targetValue >= leftValue && targetValue <= rightValue) {
-            // Calculate interpolation position
-            int pos = left + ((targetValue - leftValue) * (right - left)) / (rightValue - leftValue);
+            // Calculate interpolation position; bisect when every key in range is equal
+            int pos = leftValue == rightValue ? (left + right) >>> 1
+                    : left + (int) (((long) targetValue - leftValue) * (right - left)
+                            / ((long) rightValue - leftValue));
 
             int comparison = compareFn.apply(arr[pos], target);
             if (comparison == 0) {
@@ -129,7 +264,10 @@ public class interpolation_search {
 
     /**
      * @function interpolationSearchForDoubles
-     * @description Interpolation search for double arrays
+     * @description Interpolation search for double arrays that treats keys
+     *              within 1e-9 of target as a match, for targets computed with
+     *              rounding error. Unlike interpolationSearch(double[], double),
+     *              which matches exactly, it expects finite keys without NaN.
      * @param arr    double[] - Sorted array to search in
      * @param target double - Value to search for
      * @returns int - Index of target if found, -1 if not found
@@ -173,8 +311,9 @@ public class interpolation_search {
         }
 
         while (left <= right && target >= arr[left] && target <= arr[right]) {
-            // Calculate interpolation position
-            int pos = left + ((target - arr[left]) * (right - left)) / (arr[right] - arr[left]);
+            // Calculate interpolation position; bisect when every key in range is equal
+            int pos = arr[left] == arr[right] ? (left + right) >>> 1
+                    : left + (int) (((long) target - arr[left]) * (right - left) / ((long) arr[right] - arr[left]));
 
             if (arr[pos] == target) {
                 return pos;
@@ -188,6 +327,402 @@ public class interpolation_search {
         return -1;
     }
 
+    /**
+     * @function interpolationSearchBatch
+     * @description Looks up many keys at once. The queries are answered in
+     *              ascending order and each lookup gallops forward from where
+     *              the previous query ended before interpolating, so it only
+     *              covers the gap to the next query. On evenly spread data a
+     *              single interpolationSearch needs only a couple of probes, so
+     *              this is not faster than one call per query even when the
+     *              queries arrive sorted; it exists for symmetry with
+     *              binarySearchBatch and jumpSearchBatch.
+     * @param sortedData int[] - Sorted array to search in
+     * @param queries    int[] - Values to search for, in any order
+     * @param result     int[] - Receives, for each query, the index of its first
+     *                   occurrence or -1 if not found
+     * @returns void
+     */
+    public static void interpolationSearchBatch(int[] sortedData, int[] queries, int[] result) {
+        binary_search.searchBatch(sortedData, queries, result, 1, interpolation_search::interpolationLowerBound);
+    }
+
+    /**
+     * @function interpolationSearchBatchParallel
+     * @description Parallel interpolationSearchBatch; the sorted queries are
+     *              split across threads
+     * @param sortedData  int[] - Sorted array to search in
+     * @param queries     int[] - Values to search for, in any order
+     * @param result      int[] - Receives the index of each query's first
+     *                    occurrence, or -1
+     * @param parallelism int - Number of worker threads to use
+     * @returns void
+     */
+    public static void interpolationSearchBatchParallel(int[] sortedData, int[] queries, int[] result,
+            int parallelism) {
+        binary_search.searchBatch(sortedData, queries, result, parallelism,
+                interpolation_search::interpolationLowerBound);
+    }
+
+    /**
+     * @function interpolationLowerBound
+     * @description First index at or after from whose value is not less than
+     *              target. The target is first bracketed by galloping forward
+     *              from from, so the cost depends on the distance to the
+     *              previous query rather than on the size of the array, and is
+     *              then located by interpolating inside the bracket. Probes are
+     *              interpolated in long arithmetic so large value ranges cannot
+     *              overflow, and a probe that fails to halve the range is
+     *              followed by a bisection step, which bounds skewed data to
+     *              O(log n) probes.
+     * @param data   int[] - Sorted array
+     * @param from   int - Index to start from
+     * @param target int - Value to search for
+     * @returns int - Lower bound of target in data[from..]
+     */
+    private static int interpolationLowerBound(int[] data, int from, int target) {
+        int n = data.length;
+        if (from >= n || data[from] >= target) {
+            return from;
+        }
+
+        // data[from + bound / 2] < target holds throughout
+        int bound = 1;
+        while (bound < n - from && data[from + bound] < target) {
+            bound <<= 1;
+        }
+        int left = from + bound / 2 + 1;
+        int right = (int) Math.min((long) from + bound + 1, n);
+        boolean bisect = false;
+
+        while (left < right) {
+            int low = data[left];
+            int high = data[right - 1];
+            if (target <= low) {
+                return left;
+            }
+            if (target > high) {
+                return right;
+            }
+
+            // low < target <= high, so right - 1 > left
+            int pos = bisect ? (left + right) >>> 1
+                    : left + (int) (((long) target - low) * (right - 1 - left) / ((long) high - low));
+            int size = right - left;
+            if (data[pos] < target) {
+                left = pos + 1;
+            } else {
+                right = pos;
+            }
+            bisect = !bisect && right - left > size / 2;
+        }
+        return left;
+    }
+
+    /**
+     * @class LearnedSortedIndex
+     * @description Read-only index over a sorted long array that replaces the
+     *              single straight line of interpolation search with a
+     *              piecewise-linear model of the keys' distribution (a
+     *              RadixSpline). Knots are chosen greedily so that every key's
+     *              position is predicted within maxError, a small radix table on
+     *              the high bits of the key finds the segment, and a binary
+     *              search over the 2 * maxError + 3 positions around the
+     *              prediction finishes the lookup. Skewed keys such as timestamps
+     *              or IDs with gaps just get more knots instead of degrading to a
+     *              linear probe, and the model usually needs only a few KB per
+     *              million keys. The key array is referenced, not copied, and must
+     *              not change while the index is in use.
+     */
+    public static final class LearnedSortedIndex {
+        // Default bound on the distance between a predicted and an actual position
+        private static final int DEFAULT_MAX_ERROR = 64;
+
+        // Largest radix table, in bits of key prefix
+        private static final int MAX_RADIX_BITS = 20;
+
+        private final long[] keys;
+        private final int n;
+        private final int maxError;
+        private final long[] knotKeys;
+        private final int[] knotPositions;
+        private final double[] slopes;
+        private final int[] radixTable;
+        private final int shift;
+
+        /**
+         * @function LearnedSortedIndex
+         * @description Builds the index with the default error bound
+         * @param sorted long[] - Keys in ascending order (duplicates allowed)
+         * @throws IllegalArgumentException - If the keys are not sorted
+         */
+        public LearnedSortedIndex(long[] sorted) {
+            this(sorted, DEFAULT_MAX_ERROR);
+        }
+
+        /**
+         * @function LearnedSortedIndex
+         * @description Fits the spline in one pass over the keys. Each distinct
+         *              key x contributes the point (x, first index of x), and also
+         *              (x + 1, index after the last x) when x + 1 is missing, so
+         *              the model is exact to maxError for every query between
+         *              keys, not just for the keys themselves.
+         * @param sorted   long[] - Keys in ascending order (duplicates allowed)
+         * @param maxError int - Largest allowed prediction error, in positions
+         * @throws IllegalArgumentException - If the keys are not sorted or
+         *                                  maxError is not positive
+         */
+        public LearnedSortedIndex(long[] sorted, int maxError) {
+            if (maxError < 1) {
+                throw new IllegalArgumentException("Max error must be positive: " + maxError);
+            }
+            for (int i = 1; i < sorted.length; i++) {
+                if (sorted[i - 1] > sorted[i]) {
+                    throw new IllegalArgumentException("Keys must be sorted; index " + i + " is out of order");
+                }
+            }
+            this.keys = sorted;
+            this.n = sorted.length;
+            this.maxError = maxError;
+
+            SplineBuilder spline = new SplineBuilder(maxError);
+            for (int i = 0; i < n;) {
+                long key = sorted[i];
+                int end = i + 1;
+                while (end < n && sorted[end] == key) {
+                    end++;
+                }
+                spline.add(key, i);
+                // key < sorted[end] <= Long.MAX_VALUE, so key + 1 cannot overflow
+                if (end < n && key + 1 < sorted[end]) {
+                    spline.add(key + 1, end);
+                }
+                i = end;
+            }
+            int count = spline.finish();
+            this.knotKeys = Arrays.copyOf(spline.xs, count);
+            this.knotPositions = Arrays.copyOf(spline.ys, count);
+
+            this.slopes = new double[count];
+            for (int k = 0; k + 1 < count; k++) {
+                slopes[k] = (knotPositions[k + 1] - knotPositions[k]) / span(knotKeys[k], knotKeys[k + 1]);
+            }
+
+            // About two table entries per knot, indexed by the high bits of key - min
+            int radixBits = Math.min(MAX_RADIX_BITS, 33 - Integer.numberOfLeadingZeros(Math.max(1, count)));
+            int spanBits = n == 0 ? 0 : 64 - Long.numberOfLeadingZeros(sorted[n - 1] - sorted[0]);
+            this.shift = Math.max(0, spanBits - radixBits);
+            this.radixTable = new int[(1 << radixBits) + 1];
+            int k = 0;
+            for (int prefix = 0; prefix < radixTable.length; prefix++) {
+                while (k < count && prefix(knotKeys[k]) < prefix) {
+                    k++;
+                }
+                radixTable[prefix] = k;
+            }
+        }
+
+        /**
+         * @class SplineBuilder
+         * @description Greedy spline corridor: keeps the range of slopes from the
+         *              last knot that pass within maxError of every point seen
+         *              since, and places a knot at the previous point when a new
+         *              point falls outside it
+         */
+        private static final class SplineBuilder {
+            private final int maxError;
+            private long[] xs = new long[16];
+            private int[] ys = new int[16];
+            private int count;
+            private long baseX;
+            private int baseY;
+            private long prevX;
+            private int prevY;
+            private boolean open;
+            private double upper;
+            private double lower;
+
+            SplineBuilder(int maxError) {
+                this.maxError = maxError;
+            }
+
+            void add(long x, int y) {
+                if (count == 0) {
+                    emit(x, y);
+                    return;
+                }
+                double dx = span(baseX, x);
+                if (open) {
+                    double slope = (y - baseY) / dx;
+                    if (slope <= upper && slope >= lower) {
+                        upper = Math.min(upper, ((double) y + maxError - baseY) / dx);
+                        lower = Math.max(lower, ((double) y - maxError - baseY) / dx);
+                        prevX = x;
+                        prevY = y;
+                        return;
+                    }
+                    emit(prevX, prevY);
+                    dx = span(baseX, x);
+                }
+                upper = ((double) y + maxError - baseY) / dx;
+                lower = ((double) y - maxError - baseY) / dx;
+                open = true;
+                prevX = x;
+                prevY = y;
+            }
+
+            int finish() {
+                if (open) {
+                    emit(prevX, prevY);
+                }
+                return count;
+            }
+
+            private void emit(long x, int y) {
+                if (count == xs.length) {
+                    xs = Arrays.copyOf(xs, count * 2);
+                    ys = Arrays.copyOf(ys, count * 2);
+                }
+                xs[count] = x;
+                ys[count++] = y;
+                baseX = x;
+                baseY = y;
+                open = false;
+            }
+        }
+
+        /**
+         * @function span
+         * @description Distance between two keys as a double; the difference is
+         *              read as unsigned so spans wider than Long.MAX_VALUE work
+         * @param from long - Smaller key
+         * @param to   long - Larger key
+         * @returns double - to - from
+         */
+        private static double span(long from, long to) {
+            long difference = to - from;
+            return difference >= 0 ? difference : (difference >>> 1) * 2.0;
+        }
+
+        /**
+         * @function prefix
+         * @description Radix table slot of a key within [min, max]
+         * @param key long - Key
+         * @returns int - High bits of key - min
+         */
+        private int prefix(long key) {
+            return (int) ((key - keys[0]) >>> shift);
+        }
+
+        /**
+         * @function size
+         * @description Number of keys in the index
+         * @returns int - Key count
+         */
+        public int size() {
+            return n;
+        }
+
+        /**
+         * @function segments
+         * @description Number of linear pieces in the model
+         * @returns int - Knot count minus one (zero for at most one distinct key)
+         */
+        public int segments() {
+            return Math.max(0, knotKeys.length - 1);
+        }
+
+        /**
+         * @function modelBytes
+         * @description Approximate heap size of the model, excluding the keys
+         * @returns long - Bytes used by knots, slopes and the radix table
+         */
+        public long modelBytes() {
+            return (long) knotKeys.length * (Long.BYTES + Integer.BYTES + Double.BYTES)
+                    + (long) radixTable.length * Integer.BYTES;
+        }
+
+        /**
+         * @function findInsertPosition
+         * @description Predicts the position from the spline and binary searches
+         *              the error window around it. If rounding ever put the answer
+         *              outside the window, the whole array is searched instead.
+         * @param target long - Value to insert
+         * @returns int - Index of the first key not less than target
+         */
+        public int findInsertPosition(long target) {
+            if (n == 0 || target <= keys[0]) {
+                return 0;
+            }
+            if (target > keys[n - 1]) {
+                return n;
+            }
+
+            // Last knot at or before target; knots in earlier slots are all smaller
+            int p = prefix(target);
+            int left = Math.max(0, radixTable[p] - 1);
+            int right = radixTable[p + 1];
+            while (right - left > 1) {
+                int mid = (left + right) >>> 1;
+                if (knotKeys[mid] <= target) {
+                    left = mid;
+                } else {
+                    right = mid;
+                }
+            }
+            int predicted = knotPositions[left] + (int) (slopes[left] * span(knotKeys[left], target));
+
+            int low = Math.max(0, predicted - maxError - 1);
+            int high = Math.min(n, predicted + maxError + 2);
+            if ((low > 0 && keys[low - 1] >= target) || (high < n && keys[high] < target)) {
+                low = 0;
+                high = n;
+            }
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * @function findFirstOccurrence
+         * @description Index of the first key equal to target
+         * @param target long - Value to search for
+         * @returns int - Index of the first occurrence, -1 if not found
+         */
+        public int findFirstOccurrence(long target) {
+            int index = findInsertPosition(target);
+            return index < n && keys[index] == target ? index : -1;
+        }
+
+        /**
+         * @function findLastOccurrence
+         * @description Index of the last key equal to target
+         * @param target long - Value to search for
+         * @returns int - Index of the last occurrence, -1 if not found
+         */
+        public int findLastOccurrence(long target) {
+            // The last occurrence is just before the insert position of target + 1
+            int end = target == Long.MAX_VALUE ? n : findInsertPosition(target + 1);
+            return end > 0 && keys[end - 1] == target ? end - 1 : -1;
+        }
+
+        /**
+         * @function contains
+         * @description Whether target is one of the keys
+         * @param target long - Value to search for
+         * @returns boolean - True if found
+         */
+        public boolean contains(long target) {
+            return findFirstOccurrence(target) >= 0;
+        }
+    }
+
     /**
      * @function printArray
      * @description Prints the elements of an array
@@ -250,6 +785,55 @@ public class interpolation_search {
         System.out.println("Searching for " + target5 + " in range [2, 8]");
         int result5 = interpolationSearchWithBounds(arr5, target5, 2, 8);
         System.out.println("Result: " + (result5 != -1 ? "Found at index " + result5 : "Not found"));
+        int[] equal5 = { 5, 5, 5 };
+        System.out.println("All-equal array " + Arrays.toString(equal5) + ": interpolationSearch(5) = "
+                + interpolationSearch(equal5, 5) + ", recursive = " + interpolationSearchRecursive(equal5, 5)
+                + ", with bounds = " + interpolationSearchWithBounds(equal5, 5, 0, 2));
+        System.out.println();
+
+        // Test case 6: Batched lookups
+        int[] queries6 = { 19, 4, 1, 13, 20 };
+        int[] result6 = new int[queries6.length];
+        interpolationSearchBatch(arr5, queries6, result6);
+        System.out.println("Batch search for " + Arrays.toString(queries6) + ": " + Arrays.toString(result6));
+        System.out.println();
+
+        // Test case 7: Learned index over skewed keys
+        long[] arr7 = { 3, 4, 4, 4, 5, 9, 1_000, 1_001, 1_000_000, 1_000_000_000_000L };
+        LearnedSortedIndex index7 = new LearnedSortedIndex(arr7, 1);
+        System.out.println("Array: " + Arrays.toString(arr7));
+        System.out.println("Learned index: " + index7.segments() + " segments, first 4 at "
+                + index7.findFirstOccurrence(4) + ", last 4 at " + index7.findLastOccurrence(4)
+                + ", 1000000 at " + index7.findFirstOccurrence(1_000_000) + ", insert 2000 at "
+                + index7.findInsertPosition(2_000));
+        Random random = new Random(11);
+        long[] keys = new long[100_000];
+        for (int i = 1; i < keys.length; i++) {
+            keys[i] = keys[i - 1] + (random.nextInt(10) == 0 ? random.nextInt(1 << 20) : random.nextInt(3));
+        }
+        LearnedSortedIndex index = new LearnedSortedIndex(keys);
+        boolean matches = true;
+        for (int i = 0; i < 10_000; i++) {
+            long target = keys[random.nextInt(keys.length)] + random.nextInt(3) - 1;
+            int expected = Arrays.binarySearch(keys, target);
+            int found = index.findFirstOccurrence(target);
+            matches &= expected < 0 ? found == -1
+                    : found >= 0 && keys[found] == target && (found == 0 || keys[found - 1] < target);
+        }
+        System.out.println("Matches Arrays.binarySearch on 10000 skewed queries: " + matches);
+        System.out.println();
+
+        // Test case 8: Primitive specializations on values past the int range
+        long[] longs = new long[1_000];
+        float[] floats = new float[1_000];
+        for (int i = 0; i < longs.length; i++) {
+            longs[i] = (long) i * i * i * 1_000_000L;
+            floats[i] = i / 8.0f;
+        }
+        System.out.println("interpolationSearch over i^3 * 1000000: index of " + longs[900] + " = "
+                + interpolationSearch(longs, longs[900]) + ", of " + (longs[900] + 1) + " = "
+                + interpolationSearch(longs, longs[900] + 1));
+        System.out.println("interpolationSearch over i / 8: index of 62.5f = " + interpolationSearch(floats, 62.5f));
         System.out.println();
     }
 
@@ -282,6 +866,81 @@ public class interpolation_search {
                 System.out.printf("Array size %d, target %d: %.4f ms%n", size, target, duration);
             }
         }
+
+        // Many lookups: one call per query against a single batched call
+        Random random = new Random(42);
+        int[] data = new int[1 << 22];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 3 * i + random.nextInt(3);
+        }
+        int[] queries = new int[1 << 20];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = random.nextInt(3 * data.length);
+        }
+        int[] sortedQueries = queries.clone();
+        Arrays.sort(sortedQueries);
+        int[] result = new int[queries.length];
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        long startTime;
+
+        for (int round = 0; round < 2; round++) {
+            for (int[] batch : new int[][] { queries, sortedQueries }) {
+                startTime = System.nanoTime();
+                for (int i = 0; i < batch.length; i++) {
+                    result[i] = interpolationSearch(data, batch[i]);
+                }
+                double singleTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+                startTime = System.nanoTime();
+                interpolationSearchBatch(data, batch, result);
+                double batchTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+                startTime = System.nanoTime();
+                interpolationSearchBatchParallel(data, batch, result, parallelism);
+                double parallelTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+                System.out.printf("%d %s lookups in %d keys: interpolationSearch %.2f ms, "
+                        + "interpolationSearchBatch %.2f ms, interpolationSearchBatchParallel (%d threads) %.2f ms%n",
+                        batch.length, batch == queries ? "random" : "sorted", data.length, singleTime, batchTime,
+                        parallelism, parallelTime);
+            }
+        }
+
+        // Bursty timestamps: runs of dense keys separated by large gaps, where a
+        // single global interpolation line is far off
+        long[] timestamps = new long[1 << 22];
+        long time = 1_700_000_000_000_000_000L;
+        for (int i = 0; i < timestamps.length; i++) {
+            time += (i / 100_000) % 2 == 0 ? 1 + random.nextInt(3) : 1_000_000 + random.nextInt(1_000_000);
+            timestamps[i] = time;
+        }
+        long[] lookups = new long[1 << 20];
+        for (int i = 0; i < lookups.length; i++) {
+            lookups[i] = timestamps[random.nextInt(timestamps.length)] + (i & 1);
+        }
+
+        startTime = System.nanoTime();
+        LearnedSortedIndex index = new LearnedSortedIndex(timestamps);
+        double buildTime = (System.nanoTime() - startTime) / 1_000_000.0;
+        for (int round = 0; round < 2; round++) {
+            long checksum = 0;
+            startTime = System.nanoTime();
+            for (long target : lookups) {
+                checksum += Arrays.binarySearch(timestamps, target);
+            }
+            double arraysTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+            startTime = System.nanoTime();
+            for (long target : lookups) {
+                checksum += index.findFirstOccurrence(target);
+            }
+            double learnedTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+            System.out.printf("%d lookups in %d timestamps: Arrays.binarySearch %.2f ms, LearnedSortedIndex %.2f ms "
+                    + "(%d segments, %d model bytes, built in %.2f ms, checksum %d)%n", lookups.length,
+                    timestamps.length, arraysTime, learnedTime, index.segments(), index.modelBytes(), buildTime,
+                    checksum);
+        }
     }
 
     /**
@@ -7,6 +7,8 @@
  */
 
 import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
 
 /**
  * @class JumpSearch
@@ -55,6 +57,112 @@ public class jump_search {
         return -1;
     }
 
+    /**
+     * @function jumpSearch
+     * @description Jump search specialized for long arrays.
+     * @param arr    long[] - Sorted array to search in
+     * @param target long - Value to search for
+     * @returns int - Index of target if found, -1 if not found
+     */
+    public static int jumpSearch(long[] arr, long target) {
+        if (arr == null || arr.length == 0) {
+            return -1;
+        }
+
+        int n = arr.length;
+        int step = (int) Math.sqrt(n);
+        int prev = 0;
+        int end = Math.min(step, n);
+
+        // Find the block where target might be present
+        while (arr[end - 1] < target) {
+            prev = end;
+            if (prev >= n) {
+                return -1;
+            }
+            end = Math.min(end + step, n);
+        }
+
+        // Perform linear search in the found block; arr[end - 1] stops it
+        while (arr[prev] < target) {
+            prev++;
+        }
+
+        return arr[prev] == target ? prev : -1;
+    }
+
+    /**
+     * @function jumpSearch
+     * @description Jump search specialized for double arrays. Values are
+     *              compared with < and ==, so -0.0 matches 0.0 and NaN is never
+     *              found.
+     * @param arr    double[] - Sorted array to search in
+     * @param target double - Value to search for
+     * @returns int - Index of target if found, -1 if not found
+     */
+    public static int jumpSearch(double[] arr, double target) {
+        if (arr == null || arr.length == 0) {
+            return -1;
+        }
+
+        int n = arr.length;
+        int step = (int) Math.sqrt(n);
+        int prev = 0;
+        int end = Math.min(step, n);
+
+        // Find the block where target might be present
+        while (arr[end - 1] < target) {
+            prev = end;
+            if (prev >= n) {
+                return -1;
+            }
+            end = Math.min(end + step, n);
+        }
+
+        // Perform linear search in the found block; arr[end - 1] stops it
+        while (arr[prev] < target) {
+            prev++;
+        }
+
+        return arr[prev] == target ? prev : -1;
+    }
+
+    /**
+     * @function jumpSearch
+     * @description Jump search specialized for float arrays. Values are
+     *              compared with < and ==, so -0.0 matches 0.0 and NaN is never
+     *              found.
+     * @param arr    float[] - Sorted array to search in
+     * @param target float - Value to search for
+     * @returns int - Index of target if found, -1 if not found
+     */
+    public static int jumpSearch(float[] arr, float target) {
+        if (arr == null || arr.length == 0) {
+            return -1;
+        }
+
+        int n = arr.length;
+        int step = (int) Math.sqrt(n);
+        int prev = 0;
+        int end = Math.min(step, n);
+
+        // Find the block where target might be present
+        while (arr[end - 1] < target) {
+            prev = end;
+            if (prev >= n) {
+                return -1;
+            }
+            end = Math.min(end + step, n);
+        }
+
+        // Perform linear search in the found block; arr[end - 1] stops it
+        while (arr[prev] < target) {
+            prev++;
+        }
+
+        return arr[prev] == target ? prev : -1;
+    }
+
     /**
      * @function jumpSearchWithStep
      * @description Jump search with custom step size
@@ -185,6 +293,244 @@ public class jump_search {
         return -1;
     }
 
+    /**
+     * @function jumpSearchBatch
+     * @description Looks up many keys at once. The queries are answered in
+     *              ascending order, jumping forward from where the previous query
+     *              ended. The step is the square root of the average gap between
+     *              queries rather than of the whole array, which balances jumps
+     *              against the linear scan for the batch as a whole.
+     * @param sortedData int[] - Sorted array to search in
+     * @param queries    int[] - Values to search for, in any order
+     * @param result     int[] - Receives, for each query, the index of its first
+     *                   occurrence or -1 if not found
+     * @returns void
+     */
+    public static void jumpSearchBatch(int[] sortedData, int[] queries, int[] result) {
+        jumpSearchBatchParallel(sortedData, queries, result, 1);
+    }
+
+    /**
+     * @function jumpSearchBatchParallel
+     * @description Parallel jumpSearchBatch; the sorted queries are split across
+     *              threads
+     * @param sortedData  int[] - Sorted array to search in
+     * @param queries     int[] - Values to search for, in any order
+     * @param result      int[] - Receives the index of each query's first
+     *                    occurrence, or -1
+     * @param parallelism int - Number of worker threads to use
+     * @returns void
+     */
+    public static void jumpSearchBatchParallel(int[] sortedData, int[] queries, int[] result, int parallelism) {
+        int step = Math.max(1, (int) Math.sqrt(sortedData.length / Math.max(1, queries.length)));
+        binary_search.searchBatch(sortedData, queries, result, parallelism,
+                (data, from, target) -> jumpLowerBound(data, from, target, step));
+    }
+
+    /**
+     * @function jumpLowerBound
+     * @description First index at or after from whose value is not less than
+     *              target, found by jumping whole blocks and then scanning
+     * @param data   int[] - Sorted array
+     * @param from   int - Index to start from
+     * @param target int - Value to search for
+     * @param step   int - Block size
+     * @returns int - Lower bound of target in data[from..]
+     */
+    private static int jumpLowerBound(int[] data, int from, int target, int step) {
+        int n = data.length;
+        int pos = from;
+
+        // Skip blocks whose last element is still too small
+        while (step <= n - pos && data[pos + step - 1] < target) {
+            pos += step;
+        }
+        while (pos < n && data[pos] < target) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * @class StaticBTree
+     * @description Read-only static B+-tree (S+-tree) over a sorted int array.
+     *              Jump search is a two-level index with sqrt(n) keys per step;
+     *              this generalizes it to log17(n) levels of nodes that each
+     *              hold B = 16 ints, one 64-byte cache line. The leaves are the
+     *              sorted keys padded to whole nodes, and an internal node holds
+     *              the first key of each of its children but the first, so a
+     *              lookup reads one line per level: about 6 dependent loads for
+     *              16M keys instead of 24 for binary search. Within a node the
+     *              child is the count of keys below the target, summed without
+     *              branches over a fixed 16-iteration loop that the JIT unrolls
+     *              and can compile to vector compares. Nodes are laid out top
+     *              level first, and the upper levels are small enough to stay in
+     *              cache.
+     */
+    public static final class StaticBTree {
+        // Keys per node; a node fills one 64-byte cache line
+        private static final int B = 16;
+
+        private final int n;
+        private final int[] nodes;
+        private final int[] levelOffsets;
+        private final int leafOffset;
+
+        /**
+         * @function StaticBTree
+         * @description Builds the tree in O(n)
+         * @param sorted int[] - Keys in ascending order (duplicates allowed)
+         * @throws IllegalArgumentException - If the keys are not sorted
+         */
+        public StaticBTree(int[] sorted) {
+            for (int i = 1; i < sorted.length; i++) {
+                if (sorted[i - 1] > sorted[i]) {
+                    throw new IllegalArgumentException("Keys must be sorted; index " + i + " is out of order");
+                }
+            }
+            this.n = sorted.length;
+
+            // Node counts per level, leaves first
+            int[] counts = new int[8];
+            int levels = 0;
+            int count = Math.max(1, (n + B - 1) / B);
+            while (true) {
+                counts[levels++] = count;
+                if (count == 1) {
+                    break;
+                }
+                count = (count + B) / (B + 1);
+            }
+
+            // Store the levels top first; levelOffsets[0] is the root
+            this.levelOffsets = new int[levels];
+            int offset = 0;
+            for (int level = 0; level < levels; level++) {
+                levelOffsets[level] = offset;
+                offset += counts[levels - 1 - level] * B;
+            }
+            this.nodes = new int[offset];
+            this.leafOffset = levelOffsets[levels - 1];
+
+            Arrays.fill(nodes, Integer.MAX_VALUE);
+            System.arraycopy(sorted, 0, nodes, leafOffset, n);
+
+            // Key j of node i on a level whose subtrees each span `leaves` leaf
+            // nodes is the first key of child j + 1; missing children stay MAX
+            long leaves = 1;
+            for (int level = levels - 2; level >= 0; level--) {
+                int nodeCount = counts[levels - 1 - level];
+                for (int node = 0; node < nodeCount; node++) {
+                    for (int j = 0; j < B; j++) {
+                        long first = ((long) node * (B + 1) + j + 1) * leaves * B;
+                        if (first < n) {
+                            nodes[levelOffsets[level] + node * B + j] = sorted[(int) first];
+                        }
+                    }
+                }
+                leaves *= B + 1;
+            }
+        }
+
+        /**
+         * @function fromSortedStream
+         * @description Builds a tree from a stream of keys in ascending order,
+         *              such as rows read from a sorted file
+         * @param sorted IntStream - Keys in ascending order
+         * @returns StaticBTree - The tree
+         * @throws IllegalArgumentException - If the keys are not sorted
+         */
+        public static StaticBTree fromSortedStream(IntStream sorted) {
+            return new StaticBTree(sorted.toArray());
+        }
+
+        /**
+         * @function size
+         * @description Number of keys in the tree
+         * @returns int - Key count
+         */
+        public int size() {
+            return n;
+        }
+
+        /**
+         * @function countLess
+         * @description Number of keys in a node below target, without branches
+         * @param base   int - Offset of the node
+         * @param target int - Value to search for
+         * @returns int - Count in [0, B]
+         */
+        private int countLess(int base, int target) {
+            int count = 0;
+            for (int i = 0; i < B; i++) {
+                count += (int) (((long) nodes[base + i] - target) >>> 63);
+            }
+            return count;
+        }
+
+        /**
+         * @function findInsertPosition
+         * @description Same result as binary_search.findInsertPosition on the
+         *              sorted keys
+         * @param target int - Value to insert
+         * @returns int - Index of the first key not less than target
+         */
+        public int findInsertPosition(int target) {
+            int k = 0;
+            int leafLevel = levelOffsets.length - 1;
+            for (int level = 0; level < leafLevel; level++) {
+                k = k * (B + 1) + countLess(levelOffsets[level] + k * B, target);
+            }
+            // A count of B means the first key of the next leaf, which is k * B + B
+            return Math.min(n, k * B + countLess(leafOffset + k * B, target));
+        }
+
+        /**
+         * @function search
+         * @description Same result as jumpSearch on the sorted keys
+         * @param target int - Value to search for
+         * @returns int - Index of target if found, -1 if not found
+         */
+        public int search(int target) {
+            return findFirstOccurrence(target);
+        }
+
+        /**
+         * @function findFirstOccurrence
+         * @description Same result as binary_search.findFirstOccurrence on the
+         *              sorted keys
+         * @param target int - Value to search for
+         * @returns int - Index of the first occurrence, -1 if not found
+         */
+        public int findFirstOccurrence(int target) {
+            int index = findInsertPosition(target);
+            return index < n && nodes[leafOffset + index] == target ? index : -1;
+        }
+
+        /**
+         * @function findLastOccurrence
+         * @description Same result as binary_search.findLastOccurrence on the
+         *              sorted keys
+         * @param target int - Value to search for
+         * @returns int - Index of the last occurrence, -1 if not found
+         */
+        public int findLastOccurrence(int target) {
+            // The last occurrence is just before the insert position of target + 1
+            int end = target == Integer.MAX_VALUE ? n : findInsertPosition(target + 1);
+            return end > 0 && nodes[leafOffset + end - 1] == target ? end - 1 : -1;
+        }
+
+        /**
+         * @function contains
+         * @description Whether target is one of the keys
+         * @param target int - Value to search for
+         * @returns boolean - True if found
+         */
+        public boolean contains(int target) {
+            return findFirstOccurrence(target) >= 0;
+        }
+    }
+
     /**
      * @function printArray
      * @description Prints the elements of an array
@@ -248,6 +594,48 @@ public class jump_search {
         int result5 = jumpSearchWithCallback(arr5, target5, (a, b) -> ((String) a).compareTo((String) b));
         System.out.println("Result: " + (result5 != -1 ? "Found at index " + result5 : "Not found"));
         System.out.println();
+
+        // Test case 6: Batched lookups
+        int[] arr6 = { 1, 3, 5, 7, 9, 11, 13, 15, 17, 19 };
+        int[] queries6 = { 19, 4, 1, 13, 20 };
+        int[] result6 = new int[queries6.length];
+        jumpSearchBatch(arr6, queries6, result6);
+        System.out.println("Array: " + Arrays.toString(arr6));
+        System.out.println("Batch search for " + Arrays.toString(queries6) + ": " + Arrays.toString(result6));
+        System.out.println();
+
+        // Test case 7: Static B+-tree built from a stream
+        StaticBTree tree = StaticBTree.fromSortedStream(IntStream.range(0, 1_000).map(i -> 3 * (i / 2)));
+        System.out.println("Tree over 0, 0, 3, 3, ..., 1497, 1497:");
+        System.out.println("search(300) = " + tree.search(300) + ", last 300 at " + tree.findLastOccurrence(300)
+                + ", search(301) = " + tree.search(301) + ", insert 301 at " + tree.findInsertPosition(301));
+        Random random = new Random(5);
+        int[] keys = new int[100_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(50_000);
+        }
+        Arrays.sort(keys);
+        StaticBTree bigTree = new StaticBTree(keys);
+        boolean matches = true;
+        for (int i = 0; i < 10_000; i++) {
+            int target = random.nextInt(50_002) - 1;
+            matches &= bigTree.search(target) == jumpSearch(keys, target)
+                    && bigTree.findInsertPosition(target) == binary_search.findInsertPosition(keys, target);
+        }
+        System.out.println("Matches jumpSearch and binary_search on 10000 queries: " + matches);
+        System.out.println();
+
+        // Test case 8: Primitive specializations
+        long[] longs = new long[100];
+        double[] doubles = new double[100];
+        for (int i = 0; i < longs.length; i++) {
+            longs[i] = (long) i * 1_000_000_007L;
+            doubles[i] = Math.sqrt(i);
+        }
+        System.out.println("jumpSearch over i * 1000000007: index of 42000000294 = "
+                + jumpSearch(longs, 42_000_000_294L) + ", of 5 = " + jumpSearch(longs, 5L));
+        System.out.println("jumpSearch over sqrt(i): index of 7.0 = " + jumpSearch(doubles, 7.0));
+        System.out.println();
     }
 
     /**
@@ -279,6 +667,63 @@ public class jump_search {
                 System.out.printf("Array size %d, target %d: %.4f ms%n", size, target, duration);
             }
         }
+
+        // Many lookups: one call per query against a single batched call
+        Random random = new Random(42);
+        int[] data = new int[1 << 22];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 3 * i + random.nextInt(3);
+        }
+        int[] queries = new int[1 << 18];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = random.nextInt(3 * data.length);
+        }
+        int[] result = new int[queries.length];
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < queries.length; i++) {
+            result[i] = jumpSearch(data, queries[i]);
+        }
+        double singleTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+        startTime = System.nanoTime();
+        jumpSearchBatch(data, queries, result);
+        double batchTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        startTime = System.nanoTime();
+        jumpSearchBatchParallel(data, queries, result, parallelism);
+        double parallelTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+        System.out.printf("%d lookups in %d keys: jumpSearch %.2f ms, jumpSearchBatch %.2f ms, "
+                + "jumpSearchBatchParallel (%d threads) %.2f ms%n", queries.length, data.length, singleTime,
+                batchTime, parallelism, parallelTime);
+
+        // Single lookups: jump search, binary search and the static B+-tree
+        StaticBTree tree = new StaticBTree(data);
+        for (int round = 0; round < 2; round++) {
+            long checksum = 0;
+            startTime = System.nanoTime();
+            for (int i = 0; i < queries.length / 64; i++) {
+                checksum += jumpSearch(data, queries[i]);
+            }
+            double jumpTime = (System.nanoTime() - startTime) / (queries.length / 64.0);
+
+            startTime = System.nanoTime();
+            for (int query : queries) {
+                checksum += binary_search.findFirstOccurrence(data, query);
+            }
+            double binaryTime = (System.nanoTime() - startTime) / (double) queries.length;
+
+            startTime = System.nanoTime();
+            for (int query : queries) {
+                checksum += tree.search(query);
+            }
+            double treeTime = (System.nanoTime() - startTime) / (double) queries.length;
+
+            System.out.printf("Per lookup in %d keys: jumpSearch %.1f ns, binary search %.1f ns, StaticBTree %.1f ns "
+                    + "(checksum %d)%n", data.length, jumpTime, binaryTime, treeTime, checksum);
+        }
     }
 
     /**
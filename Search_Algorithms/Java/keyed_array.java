@@ -0,0 +1,307 @@
+
+/**
+ * @file keyed_array.java
+ * @description Object array searched through cached primitive keys
+ * @author Algorithm Collection
+ * @version 1.0
+ */
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.function.ToLongFunction;
+
+/**
+ * @class KeyedArray
+ * @description Pairs an object array with the long keys extracted from it by a
+ *              ToLongFunction. The keys are extracted once, so every search
+ *              runs the long[] specializations of linear_search, jump_search,
+ *              interpolation_search and binary_search: no boxing, no comparator
+ *              call per probe, and the probes read a dense primitive array
+ *              instead of chasing a reference to each object. The items are
+ *              referenced, not copied; build a new keyed_array if their keys
+ *              change.
+ */
+public final class keyed_array<T> {
+
+    private final T[] items;
+    private final long[] keys;
+
+    private keyed_array(T[] items, long[] keys) {
+        this.items = items;
+        this.keys = keys;
+    }
+
+    /**
+     * @function of
+     * @description Extracts and caches the key of every item
+     * @param items T[] - Items to search
+     * @param key   ToLongFunction - Key of an item
+     * @returns keyed_array - Searchable view of the items
+     */
+    public static <T> keyed_array<T> of(T[] items, ToLongFunction<? super T> key) {
+        long[] keys = new long[items.length];
+        for (int i = 0; i < items.length; i++) {
+            keys[i] = key.applyAsLong(items[i]);
+        }
+        return new keyed_array<>(items, keys);
+    }
+
+    /**
+     * @function size
+     * @description Number of items
+     * @returns int - Item count
+     */
+    public int size() {
+        return items.length;
+    }
+
+    /**
+     * @function get
+     * @description Item at an index, typically one returned by a search
+     * @param index int - Item index
+     * @returns T - The item
+     */
+    public T get(int index) {
+        return items[index];
+    }
+
+    /**
+     * @function key
+     * @description Cached key of an item
+     * @param index int - Item index
+     * @returns long - The key
+     */
+    public long key(int index) {
+        return keys[index];
+    }
+
+    /**
+     * @function linearSearch
+     * @description Finds the first item with a key; the items need not be sorted
+     * @param target long - Key to search for
+     * @returns int - Index of the item if found, -1 if not found
+     */
+    public int linearSearch(long target) {
+        return linear_search.linearSearch(keys, target);
+    }
+
+    /**
+     * @function jumpSearch
+     * @description Jump search over the keys, which must be in ascending order
+     * @param target long - Key to search for
+     * @returns int - Index of the item if found, -1 if not found
+     */
+    public int jumpSearch(long target) {
+        return jump_search.jumpSearch(keys, target);
+    }
+
+    /**
+     * @function interpolationSearch
+     * @description Interpolation search over the keys, which must be in
+     *              ascending order
+     * @param target long - Key to search for
+     * @returns int - Index of the item if found, -1 if not found
+     */
+    public int interpolationSearch(long target) {
+        return interpolation_search.interpolationSearch(keys, target);
+    }
+
+    /**
+     * @function binarySearch
+     * @description Binary search over the keys, which must be in ascending order
+     * @param target long - Key to search for
+     * @returns int - Index of the item if found, -1 if not found
+     */
+    public int binarySearch(long target) {
+        return binary_search.binarySearch(keys, target);
+    }
+
+    /**
+     * @class Order
+     * @description Sample record searched by its id in the demonstrations
+     */
+    private static final class Order {
+        private final long id;
+        private final String customer;
+
+        Order(long id, String customer) {
+            this.id = id;
+            this.customer = customer;
+        }
+
+        @Override
+        public String toString() {
+            return "Order " + id + " (" + customer + ")";
+        }
+    }
+
+    /**
+     * @function testKeyedArray
+     * @description Searches orders by id with each algorithm and checks the
+     *              primitive specializations against the callback versions
+     * @returns void
+     */
+    public static void testKeyedArray() {
+        System.out.println("=== Keyed Array Test ===");
+
+        String[] customers = { "ada", "bob", "cy", "dee", "eve", "fay" };
+        Order[] orders = new Order[customers.length];
+        for (int i = 0; i < orders.length; i++) {
+            orders[i] = new Order(100 + 7 * i, customers[i]);
+        }
+        keyed_array<Order> byId = keyed_array.of(orders, order -> order.id);
+        System.out.println("Orders: " + Arrays.toString(orders));
+        System.out.println("binarySearch(121): " + byId.get(byId.binarySearch(121)));
+        System.out.println("interpolationSearch(135): " + byId.get(byId.interpolationSearch(135)));
+        System.out.println("jumpSearch(100): " + byId.get(byId.jumpSearch(100)));
+        System.out.println("linearSearch(122): " + byId.linearSearch(122));
+
+        Random random = new Random(3);
+        Order[] many = sortedOrders(random, 50_000);
+        Object[] objects = many;
+        keyed_array<Order> keyed = keyed_array.of(many, order -> order.id);
+        boolean matches = true;
+        for (int i = 0; i < 2_000; i++) {
+            Order probe = new Order(many[random.nextInt(many.length)].id + (i % 2), "");
+            int expected = Arrays.binarySearch(many, probe, Comparator.comparingLong((Order order) -> order.id));
+            int callback = jump_search.jumpSearchWithCallback(objects, probe,
+                    (a, b) -> Long.compare(((Order) a).id, ((Order) b).id));
+            matches &= (expected >= 0) == (keyed.binarySearch(probe.id) >= 0)
+                    && keyed.jumpSearch(probe.id) == callback
+                    && keyed.interpolationSearch(probe.id) == (expected >= 0 ? callback : -1)
+                    && (i % 20 != 0 || keyed.linearSearch(probe.id) == callback);
+        }
+
+        double[] doubles = { -2.5, -0.0, 1.25, 1.25, 8.0, Double.POSITIVE_INFINITY, Double.NaN };
+        float[] floats = { -2.5f, 0.0f, 1.25f, 8.0f };
+        System.out.println("Double array: " + Arrays.toString(doubles));
+        System.out.println("binarySearch(8.0) = " + binary_search.binarySearch(doubles, 8.0)
+                + ", interpolationSearch(Infinity) = "
+                + interpolation_search.interpolationSearch(doubles, Double.POSITIVE_INFINITY)
+                + ", jumpSearch(0.0) = " + jump_search.jumpSearch(doubles, 0.0)
+                + ", linearSearch(NaN) = " + linear_search.linearSearch(doubles, Double.NaN));
+        System.out.println("Float array: " + Arrays.toString(floats) + ", interpolationSearch(1.25f) = "
+                + interpolation_search.interpolationSearch(floats, 1.25f));
+        System.out.println("Primitive searches match the callback versions: " + matches);
+        System.out.println();
+    }
+
+    /**
+     * @function sortedOrders
+     * @description Orders with distinct ids in ascending order and uneven gaps
+     * @param random Random - Source of ids
+     * @param count  int - Number of orders
+     * @returns Order[] - Orders sorted by id
+     */
+    private static Order[] sortedOrders(Random random, int count) {
+        Order[] orders = new Order[count];
+        long id = 0;
+        for (int i = 0; i < count; i++) {
+            id += 1 + random.nextInt(i % 1_000 < 500 ? 4 : 400);
+            orders[i] = new Order(id, "c" + (i % 97));
+        }
+        return orders;
+    }
+
+    /**
+     * @function performanceTest
+     * @description Times each search through the Object[] callbacks and
+     *              through cached keys
+     * @returns void
+     */
+    public static void performanceTest() {
+        System.out.println("=== Performance Test ===");
+
+        Random random = new Random(42);
+        Order[] orders = sortedOrders(random, 1 << 20);
+        Object[] objects = orders;
+        long[] targets = new long[1 << 18];
+        Order[] probes = new Order[targets.length];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = orders[random.nextInt(orders.length)].id;
+            probes[i] = new Order(targets[i], "");
+        }
+
+        long startTime = System.nanoTime();
+        keyed_array<Order> keyed = keyed_array.of(orders, order -> order.id);
+        System.out.printf("Extracting %d keys: %.2f ms%n", orders.length, (System.nanoTime() - startTime) / 1e6);
+
+        java.util.function.BiFunction<Object, Object, Integer> compare =
+                (a, b) -> Long.compare(((Order) a).id, ((Order) b).id);
+        Comparator<Order> byId = Comparator.comparingLong(order -> order.id);
+        for (int round = 0; round < 2; round++) {
+            long checksum = 0;
+
+            // Linear and jump search read many elements per lookup, so fewer queries
+            int linearQueries = 200;
+            startTime = System.nanoTime();
+            for (int i = 0; i < linearQueries; i++) {
+                checksum += linear_search.linearSearchWithCallback(objects, probes[i],
+                        (a, b) -> ((Order) a).id == ((Order) b).id);
+            }
+            double linearCallback = (System.nanoTime() - startTime) / (double) linearQueries;
+            startTime = System.nanoTime();
+            for (int i = 0; i < linearQueries; i++) {
+                checksum += keyed.linearSearch(targets[i]);
+            }
+            double linearKeyed = (System.nanoTime() - startTime) / (double) linearQueries;
+
+            int jumpQueries = 20_000;
+            startTime = System.nanoTime();
+            for (int i = 0; i < jumpQueries; i++) {
+                checksum += jump_search.jumpSearchWithCallback(objects, probes[i], compare);
+            }
+            double jumpCallback = (System.nanoTime() - startTime) / (double) jumpQueries;
+            startTime = System.nanoTime();
+            for (int i = 0; i < jumpQueries; i++) {
+                checksum += keyed.jumpSearch(targets[i]);
+            }
+            double jumpKeyed = (System.nanoTime() - startTime) / (double) jumpQueries;
+
+            startTime = System.nanoTime();
+            for (Order probe : probes) {
+                checksum += interpolation_search.interpolationSearchWithCallback(objects, probe, compare,
+                        order -> (int) ((Order) order).id);
+            }
+            double interpolationCallback = (System.nanoTime() - startTime) / (double) probes.length;
+            startTime = System.nanoTime();
+            for (long target : targets) {
+                checksum += keyed.interpolationSearch(target);
+            }
+            double interpolationKeyed = (System.nanoTime() - startTime) / (double) targets.length;
+
+            startTime = System.nanoTime();
+            for (Order probe : probes) {
+                checksum += Arrays.binarySearch(orders, probe, byId);
+            }
+            double binaryCallback = (System.nanoTime() - startTime) / (double) probes.length;
+            startTime = System.nanoTime();
+            for (long target : targets) {
+                checksum += keyed.binarySearch(target);
+            }
+            double binaryKeyed = (System.nanoTime() - startTime) / (double) targets.length;
+
+            System.out.printf("Per lookup in %d orders (callback / cached keys): linear %.0f / %.0f ns, "
+                    + "jump %.0f / %.0f ns, interpolation %.0f / %.0f ns, binary %.0f / %.0f ns (checksum %d)%n",
+                    orders.length, linearCallback, linearKeyed, jumpCallback, jumpKeyed, interpolationCallback,
+                    interpolationKeyed, binaryCallback, binaryKeyed, checksum);
+        }
+    }
+
+    /**
+     * @function main
+     * @description Main method to run the keyed array demonstration
+     * @param args String[] - Command line arguments
+     * @returns void
+     */
+    public static void main(String[] args) {
+        System.out.println("Keyed Array Search Implementation");
+        System.out.println("=================================");
+
+        testKeyedArray();
+        performanceTest();
+
+        System.out.println("\nKeyed Array Search completed successfully!");
+    }
+}
@@ -7,6 +7,8 @@
  */
 
 import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * @class LinearSearch
@@ -14,6 +16,9 @@ import java.util.Arrays;
  */
 public class linear_search {
 
+    // Arrays smaller than this are scanned on the calling thread
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
     /**
      * @function linearSearch
      * @description Searches for a target value in an array using linear search
@@ -35,6 +40,73 @@ public class linear_search {
         return -1;
     }
 
+    /**
+     * @function linearSearch
+     * @description Linear search specialized for long arrays
+     * @param arr    long[] - Array to search in
+     * @param target long - Value to search for
+     * @returns int - Index of target if found, -1 if not found
+     */
+    public static int linearSearch(long[] arr, long target) {
+        if (arr == null || arr.length == 0) {
+            return -1;
+        }
+
+        for (int i = 0; i < arr.length; i++) {
+            if (arr[i] == target) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @function linearSearch
+     * @description Linear search specialized for double arrays. Values are
+     *              compared with ==, so -0.0 matches 0.0 and NaN is never
+     *              found.
+     * @param arr    double[] - Array to search in
+     * @param target double - Value to search for
+     * @returns int - Index of target if found, -1 if not found
+     */
+    public static int linearSearch(double[] arr, double target) {
+        if (arr == null || arr.length == 0) {
+            return -1;
+        }
+
+        for (int i = 0; i < arr.length; i++) {
+            if (arr[i] == target) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @function linearSearch
+     * @description Linear search specialized for float arrays. Values are
+     *              compared with ==, so -0.0 matches 0.0 and NaN is never
+     *              found.
+     * @param arr    float[] - Array to search in
+     * @param target float - Value to search for
+     * @returns int - Index of target if found, -1 if not found
+     */
+    public static int linearSearch(float[] arr, float target) {
+        if (arr == null || arr.length == 0) {
+            return -1;
+        }
+
+        for (int i = 0; i < arr.length; i++) {
+            if (arr[i] == target) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
     /**
      * @function linearSearchRecursive
      * @description Recursive implementation of linear search
@@ -71,7 +143,8 @@ public class linear_search {
 
     /**
      * @function findAllOccurrences
-     * @description Finds all occurrences of target in array
+     * @description Finds all occurrences of target in array. The array is read
+     *              once into a match bitmap, which is then expanded into indices.
      * @param arr    int[] - Array to search in
      * @param target int - Value to search for
      * @returns int[] - Array of indices where target is found
@@ -80,25 +153,246 @@ public class linear_search {
         if (arr == null || arr.length == 0) {
             return new int[0];
         }
+        return bitmapToIndices(findAllOccurrencesBitmap(arr, target));
+    }
+
+    /**
+     * @function findAllOccurrencesParallel
+     * @description Parallel findAllOccurrences; the array is split into chunks
+     *              scanned by separate threads
+     * @param arr         int[] - Array to search in
+     * @param target      int - Value to search for
+     * @param parallelism int - Number of worker threads to use
+     * @returns int[] - Array of indices where target is found
+     */
+    public static int[] findAllOccurrencesParallel(int[] arr, int target, int parallelism) {
+        return scanIndices(arr, target, 1, parallelism);
+    }
+
+    /**
+     * @function findAllOccurrencesBitmap
+     * @description Marks every occurrence of target in a bitmap
+     * @param arr    int[] - Array to search in
+     * @param target int - Value to search for
+     * @returns long[] - Bit i % 64 of word i / 64 is set if arr[i] == target
+     */
+    public static long[] findAllOccurrencesBitmap(int[] arr, int target) {
+        return scanBitmap(arr, target, 1, 1);
+    }
+
+    /**
+     * @function findAllInRange
+     * @description Finds every index whose value lies in [lo, hi)
+     * @param arr int[] - Array to search in
+     * @param lo  int - Smallest matching value
+     * @param hi  int - First value above the range; empty if hi &lt;= lo
+     * @returns int[] - Ascending indices of matching elements
+     */
+    public static int[] findAllInRange(int[] arr, int lo, int hi) {
+        return scanIndices(arr, lo, rangeSpan(lo, hi), 1);
+    }
+
+    /**
+     * @function findAllInRangeParallel
+     * @description Parallel findAllInRange
+     * @param arr         int[] - Array to search in
+     * @param lo          int - Smallest matching value
+     * @param hi          int - First value above the range
+     * @param parallelism int - Number of worker threads to use
+     * @returns int[] - Ascending indices of matching elements
+     */
+    public static int[] findAllInRangeParallel(int[] arr, int lo, int hi, int parallelism) {
+        return scanIndices(arr, lo, rangeSpan(lo, hi), parallelism);
+    }
+
+    /**
+     * @function findAllInRangeBitmap
+     * @description Marks every element whose value lies in [lo, hi). Bitmaps
+     *              of several predicates can be combined word by word with
+     *              and/or before converting to indices.
+     * @param arr int[] - Array to search in
+     * @param lo  int - Smallest matching value
+     * @param hi  int - First value above the range
+     * @returns long[] - Bit i % 64 of word i / 64 is set if arr[i] matches
+     */
+    public static long[] findAllInRangeBitmap(int[] arr, int lo, int hi) {
+        return scanBitmap(arr, lo, rangeSpan(lo, hi), 1);
+    }
+
+    /**
+     * @function findAllInRangeBitmapParallel
+     * @description Parallel findAllInRangeBitmap
+     * @param arr         int[] - Array to search in
+     * @param lo          int - Smallest matching value
+     * @param hi          int - First value above the range
+     * @param parallelism int - Number of worker threads to use
+     * @returns long[] - Match bitmap
+     */
+    public static long[] findAllInRangeBitmapParallel(int[] arr, int lo, int hi, int parallelism) {
+        return scanBitmap(arr, lo, rangeSpan(lo, hi), parallelism);
+    }
 
+    /**
+     * @function bitmapToIndices
+     * @description Expands a match bitmap into the indices of its set bits
+     * @param bitmap long[] - Bitmap from one of the scans
+     * @returns int[] - Ascending indices of set bits
+     */
+    public static int[] bitmapToIndices(long[] bitmap) {
         int count = 0;
-        // First pass: count occurrences
-        for (int i = 0; i < arr.length; i++) {
-            if (arr[i] == target) {
-                count++;
+        for (long word : bitmap) {
+            count += Long.bitCount(word);
+        }
+        int[] indices = new int[count];
+        writeIndices(bitmap, 0, bitmap.length, indices, 0);
+        return indices;
+    }
+
+    /**
+     * @function rangeSpan
+     * @description Width of [lo, hi) as a long, so ranges up to 2^32 values wide
+     *              cannot overflow
+     * @param lo int - Smallest matching value
+     * @param hi int - First value above the range
+     * @returns long - hi - lo, or 0 for an empty range
+     */
+    private static long rangeSpan(int lo, int hi) {
+        return hi > lo ? (long) hi - lo : 0;
+    }
+
+    /**
+     * @function scanBitmap
+     * @description Builds the match bitmap for lo &lt;= x &lt; lo + span, with
+     *              chunks of whole 64-element words so threads never share a word
+     * @param arr         int[] - Array to search in; null has no matches
+     * @param lo          int - Smallest matching value
+     * @param span        long - Number of matching values
+     * @param parallelism int - Number of worker threads to use
+     * @returns long[] - Match bitmap
+     */
+    private static long[] scanBitmap(int[] arr, int lo, long span, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        if (arr == null) {
+            return new long[0];
+        }
+        int words = (arr.length + 63) >>> 6;
+        long[] bitmap = new long[words];
+        int chunks = arr.length < PARALLEL_THRESHOLD ? 1 : Math.min(parallelism, words);
+
+        ForkJoinPool pool = chunks > 1 ? new ForkJoinPool(chunks) : null;
+        try {
+            binary_search.runChunks(pool, chunks, c -> scanWords(arr, lo, span, bitmap,
+                    binary_search.chunkStart(words, chunks, c), binary_search.chunkStart(words, chunks, c + 1)));
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
             }
         }
+        return bitmap;
+    }
 
-        // Second pass: collect indices
-        int[] indices = new int[count];
-        int index = 0;
-        for (int i = 0; i < arr.length; i++) {
-            if (arr[i] == target) {
-                indices[index++] = i;
+    /**
+     * @function scanIndices
+     * @description Match indices for lo &lt;= x &lt; lo + span. Each chunk builds
+     *              its part of the bitmap and counts its hits; after a prefix sum
+     *              over the counts every chunk writes its indices to its own slice
+     *              of the result.
+     * @param arr         int[] - Array to search in; null has no matches
+     * @param lo          int - Smallest matching value
+     * @param span        long - Number of matching values
+     * @param parallelism int - Number of worker threads to use
+     * @returns int[] - Ascending indices of matching elements
+     */
+    private static int[] scanIndices(int[] arr, int lo, long span, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        if (arr == null) {
+            return new int[0];
+        }
+        int words = (arr.length + 63) >>> 6;
+        long[] bitmap = new long[words];
+        int chunks = arr.length < PARALLEL_THRESHOLD ? 1 : Math.min(parallelism, words);
+        int[] offsets = new int[chunks + 1];
+
+        ForkJoinPool pool = chunks > 1 ? new ForkJoinPool(chunks) : null;
+        try {
+            binary_search.runChunks(pool, chunks, c -> {
+                int from = binary_search.chunkStart(words, chunks, c);
+                int to = binary_search.chunkStart(words, chunks, c + 1);
+                scanWords(arr, lo, span, bitmap, from, to);
+                int count = 0;
+                for (int w = from; w < to; w++) {
+                    count += Long.bitCount(bitmap[w]);
+                }
+                offsets[c + 1] = count;
+            });
+            for (int c = 0; c < chunks; c++) {
+                offsets[c + 1] += offsets[c];
+            }
+
+            int[] indices = new int[offsets[chunks]];
+            binary_search.runChunks(pool, chunks, c -> writeIndices(bitmap,
+                    binary_search.chunkStart(words, chunks, c), binary_search.chunkStart(words, chunks, c + 1),
+                    indices, offsets[c]));
+            return indices;
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
             }
         }
+    }
 
-        return indices;
+    /**
+     * @function scanWords
+     * @description Fills bitmap words [fromWord, toWord). The test
+     *              (x - lo) as unsigned &lt; span covers equality (span 1) and
+     *              ranges with one comparison, and its sign bit is shifted into
+     *              place instead of branching, so the loop runs at the same speed
+     *              whatever fraction of elements match.
+     * @param arr      int[] - Array to search in
+     * @param lo       int - Smallest matching value
+     * @param span     long - Number of matching values
+     * @param bitmap   long[] - Bitmap to fill
+     * @param fromWord int - First word
+     * @param toWord   int - End word (exclusive)
+     * @returns void
+     */
+    private static void scanWords(int[] arr, int lo, long span, long[] bitmap, int fromWord, int toWord) {
+        int n = arr.length;
+        for (int w = fromWord; w < toWord; w++) {
+            int base = w << 6;
+            int end = Math.min(base + 64, n);
+            long word = 0;
+            for (int i = base; i < end; i++) {
+                // Negative exactly when arr[i] - lo, read as unsigned, is below span
+                long below = ((arr[i] - lo) & 0xFFFFFFFFL) - span;
+                word |= (below >>> 63) << (i - base);
+            }
+            bitmap[w] = word;
+        }
+    }
+
+    /**
+     * @function writeIndices
+     * @description Writes the indices of the set bits in words [fromWord, toWord)
+     * @param bitmap   long[] - Match bitmap
+     * @param fromWord int - First word
+     * @param toWord   int - End word (exclusive)
+     * @param indices  int[] - Output array
+     * @param position int - First output slot
+     * @returns void
+     */
+    private static void writeIndices(long[] bitmap, int fromWord, int toWord, int[] indices, int position) {
+        for (int w = fromWord; w < toWord; w++) {
+            long word = bitmap[w];
+            while (word != 0) {
+                indices[position++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
     }
 
     /**
@@ -191,6 +485,67 @@ public class linear_search {
         int result5 = linearSearchWithCallback(arr5, target5, (a, b) -> a.equals(b));
         System.out.println("Result: " + (result5 != -1 ? "Found at index " + result5 : "Not found"));
         System.out.println();
+
+        // Test case 6: Range predicates and bitmaps
+        int[] arr6 = { 5, -3, 9, 0, 12, -3, 7, 5, Integer.MAX_VALUE, Integer.MIN_VALUE };
+        System.out.println("Array: " + Arrays.toString(arr6));
+        System.out.println("Indices with 0 <= x < 9: " + Arrays.toString(findAllInRange(arr6, 0, 9)));
+        System.out.println("Bitmap of x == -3: " + Long.toBinaryString(findAllOccurrencesBitmap(arr6, -3)[0]));
+        System.out.println("Indices with x >= 7: "
+                + Arrays.toString(findAllInRange(arr6, 7, Integer.MAX_VALUE))
+                + " plus MAX_VALUE at " + Arrays.toString(findAllOccurrences(arr6, Integer.MAX_VALUE)));
+
+        Random random = new Random(1);
+        int[] column = new int[300_000];
+        for (int i = 0; i < column.length; i++) {
+            column[i] = random.nextInt(1_000) - 500;
+        }
+        boolean matches = Arrays.equals(findAllInRangeParallel(column, -20, 30, 4),
+                findAllOccurrencesTwoPass(column, -20, 30))
+                && Arrays.equals(findAllOccurrencesParallel(column, 7, 4), findAllOccurrences(column, 7))
+                && Arrays.equals(bitmapToIndices(findAllInRangeBitmapParallel(column, -500, 500, 4)),
+                        findAllInRange(column, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        System.out.println("Parallel scans match the two-pass loop: " + matches);
+        System.out.println("Scans of a null array find nothing: " + (findAllInRange(null, 0, 9).length == 0
+                && findAllInRangeParallel(null, 0, 9, 4).length == 0
+                && findAllOccurrencesParallel(null, 7, 4).length == 0
+                && findAllOccurrencesBitmap(null, 7).length == 0
+                && findAllInRangeBitmapParallel(null, 0, 9, 4).length == 0));
+        System.out.println();
+
+        // Test case 7: Primitive specializations
+        long[] arr7 = { 40_000_000_000L, -7, 12, Long.MIN_VALUE };
+        double[] doubles7 = { 2.5, Double.NaN, -0.0 };
+        System.out.println("Long array: " + Arrays.toString(arr7) + ", linearSearch(12) = " + linearSearch(arr7, 12L));
+        System.out.println("Double array: " + Arrays.toString(doubles7) + ", linearSearch(0.0) = "
+                + linearSearch(doubles7, 0.0) + ", linearSearch(NaN) = " + linearSearch(doubles7, Double.NaN));
+        System.out.println();
+    }
+
+    /**
+     * @function findAllOccurrencesTwoPass
+     * @description Count-then-collect scan with a branch per element, the
+     *              baseline for comparison
+     * @param arr int[] - Array to search in
+     * @param lo  int - Smallest matching value
+     * @param hi  int - First value above the range
+     * @returns int[] - Ascending indices of matching elements
+     */
+    private static int[] findAllOccurrencesTwoPass(int[] arr, int lo, int hi) {
+        int count = 0;
+        for (int value : arr) {
+            if (value >= lo && value < hi) {
+                count++;
+            }
+        }
+        int[] indices = new int[count];
+        int index = 0;
+        for (int i = 0; i < arr.length; i++) {
+            if (arr[i] >= lo && arr[i] < hi) {
+                indices[index++] = i;
+            }
+        }
+        return indices;
     }
 
     /**
@@ -222,6 +577,36 @@ public class linear_search {
                 System.out.printf("Array size %d, target %d: %.4f ms%n", size, target, duration);
             }
         }
+
+        // Column scans: equality and a range matching about half the rows
+        Random random = new Random(42);
+        int[] column = new int[1 << 24];
+        for (int i = 0; i < column.length; i++) {
+            column[i] = random.nextInt(1_000);
+        }
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        for (int[] range : new int[][] { { 7, 8 }, { 250, 750 } }) {
+            for (int round = 0; round < 2; round++) {
+                long startTime = System.nanoTime();
+                int twoPass = findAllOccurrencesTwoPass(column, range[0], range[1]).length;
+                double twoPassTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+                startTime = System.nanoTime();
+                int bitmapScan = findAllInRange(column, range[0], range[1]).length;
+                double scanTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+                startTime = System.nanoTime();
+                int parallelScan = findAllInRangeParallel(column, range[0], range[1], parallelism).length;
+                double parallelTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+                System.out.printf("%d <= x < %d over %d rows (%d hits): two-pass %.2f ms, bitmap scan %.2f ms, "
+                        + "parallel (%d threads) %.2f ms%n", range[0], range[1], column.length, twoPass,
+                        twoPassTime, scanTime, parallelism, parallelTime);
+                if (bitmapScan != twoPass || parallelScan != twoPass) {
+                    System.out.println("Hit counts differ: " + bitmapScan + ", " + parallelScan);
+                }
+            }
+        }
     }
 
     /**
@@ -0,0 +1,438 @@
+
+/**
+ * @file mapped_sorted_file.java
+ * @description Binary search over a memory-mapped file of sorted fixed-width
+ *              records
+ * @author Algorithm Collection
+ * @version 1.0
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * @class MappedSortedFile
+ * @description Read-only searcher over a file of fixed-width records sorted
+ *              by a signed 8-byte key at the start of each record, followed by
+ *              an opaque payload. The file is mapped with FileChannel.map in
+ *              segments of whole records, at most SEGMENT_BYTES each, so files
+ *              larger than 2 GB and the heap work, and indices are long. The
+ *              search methods have the same semantics as their int[]
+ *              counterparts in binary_search. An optional in-heap cache holds
+ *              the keys at evenly spaced records, which are exactly the records
+ *              the first levels of a binary search would probe; lookups search
+ *              the cache first, so those probes never touch the file and only
+ *              the last few levels can fault a page in.
+ */
+public final class mapped_sorted_file {
+
+    // Largest mapped segment; always trimmed to a whole number of records
+    private static final long SEGMENT_BYTES = 1L << 30;
+
+    private final ByteBuffer[] segments;
+    private final long length;
+    private final int recordSize;
+    private final long recordsPerSegment;
+    private final long[] cacheKeys;
+    private final long cacheStride;
+
+    private mapped_sorted_file(ByteBuffer[] segments, long length, int recordSize, long recordsPerSegment,
+            int cacheEntries) {
+        this.segments = segments;
+        this.length = length;
+        this.recordSize = recordSize;
+        this.recordsPerSegment = recordsPerSegment;
+
+        // Cache entry i holds the key of record (i + 1) * stride - 1
+        int entries = (int) Math.min(cacheEntries, length);
+        this.cacheStride = entries == 0 ? 0 : length / (entries + 1) + 1;
+        int count = cacheStride == 0 ? 0 : (int) Math.min(entries, length / cacheStride);
+        this.cacheKeys = new long[count];
+        for (int i = 0; i < count; i++) {
+            cacheKeys[i] = key(cachedRecord(i));
+        }
+    }
+
+    /**
+     * @function open
+     * @description Maps a file of big-endian keys (as written by
+     *              DataOutputStream or a default ByteBuffer) without a cache
+     * @param file       Path - File of records sorted by key
+     * @param recordSize int - Bytes per record, at least 8
+     * @returns mapped_sorted_file - Searcher over the file
+     * @throws IOException - If the file cannot be opened or mapped
+     */
+    public static mapped_sorted_file open(Path file, int recordSize) throws IOException {
+        return open(file, recordSize, ByteOrder.BIG_ENDIAN, 0);
+    }
+
+    /**
+     * @function open
+     * @description Maps a file read-only. The records must already be sorted
+     *              by key; this is not checked, because it would read the whole
+     *              file.
+     * @param file         Path - File of records sorted by key
+     * @param recordSize   int - Bytes per record, at least 8
+     * @param order        ByteOrder - Byte order of the keys
+     * @param cacheEntries int - Keys to keep on the heap, 0 for none; a cache of
+     *                     2^k - 1 entries replaces the first k probes
+     * @returns mapped_sorted_file - Searcher over the file
+     * @throws IOException - If the file cannot be opened or mapped
+     */
+    public static mapped_sorted_file open(Path file, int recordSize, ByteOrder order, int cacheEntries)
+            throws IOException {
+        return open(file, recordSize, order, cacheEntries, SEGMENT_BYTES);
+    }
+
+    /**
+     * @function open
+     * @description Maps a file with a given segment size; small segments let
+     *              the tests cross segment boundaries without multi-GB files
+     * @param file         Path - File of records sorted by key
+     * @param recordSize   int - Bytes per record, at least 8
+     * @param order        ByteOrder - Byte order of the keys
+     * @param cacheEntries int - Keys to keep on the heap
+     * @param segmentBytes long - Largest segment to map
+     * @returns mapped_sorted_file - Searcher over the file
+     * @throws IOException - If the file cannot be opened or mapped
+     */
+    private static mapped_sorted_file open(Path file, int recordSize, ByteOrder order, int cacheEntries,
+            long segmentBytes) throws IOException {
+        if (recordSize < Long.BYTES) {
+            throw new IllegalArgumentException("Record size must be at least 8: " + recordSize);
+        }
+        if (cacheEntries < 0) {
+            throw new IllegalArgumentException("Cache entries must not be negative: " + cacheEntries);
+        }
+        long recordsPerSegment = Math.max(1, segmentBytes / recordSize);
+        long segmentSize = recordsPerSegment * recordSize;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long bytes = channel.size();
+            if (bytes % recordSize != 0) {
+                throw new IllegalArgumentException("File size " + bytes + " is not a multiple of " + recordSize);
+            }
+
+            // The mappings stay valid after the channel is closed
+            ByteBuffer[] segments = new ByteBuffer[(int) ((bytes + segmentSize - 1) / segmentSize)];
+            for (int s = 0; s < segments.length; s++) {
+                long offset = s * segmentSize;
+                segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                        Math.min(segmentSize, bytes - offset)).order(order);
+            }
+            return new mapped_sorted_file(segments, bytes / recordSize, recordSize, recordsPerSegment,
+                    cacheEntries);
+        }
+    }
+
+    /**
+     * @function length
+     * @description Number of records in the file
+     * @returns long - Record count
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * @function key
+     * @description Reads the key of a record
+     * @param index long - Record index
+     * @returns long - Key
+     */
+    public long key(long index) {
+        int segment = (int) (index / recordsPerSegment);
+        int offset = (int) (index - segment * recordsPerSegment) * recordSize;
+        return segments[segment].getLong(offset);
+    }
+
+    /**
+     * @function payload
+     * @description View of the bytes that follow a record's key
+     * @param index long - Record index
+     * @returns ByteBuffer - Read-only buffer of recordSize - 8 bytes
+     */
+    public ByteBuffer payload(long index) {
+        int segment = (int) (index / recordsPerSegment);
+        int offset = (int) (index - segment * recordsPerSegment) * recordSize;
+        ByteBuffer view = segments[segment].duplicate();
+        view.limit(offset + recordSize).position(offset + Long.BYTES);
+        return view.slice().order(segments[segment].order());
+    }
+
+    /**
+     * @function binarySearch
+     * @description Searches for a key
+     * @param target long - Key to search for
+     * @returns long - Index of a record with the key if found, -1 if not found
+     */
+    public long binarySearch(long target) {
+        long index = findInsertPosition(target);
+        return index < length && key(index) == target ? index : -1;
+    }
+
+    /**
+     * @function findFirstOccurrence
+     * @description Finds the first record with a key
+     * @param target long - Key to search for
+     * @returns long - Index of the first occurrence, -1 if not found
+     */
+    public long findFirstOccurrence(long target) {
+        return binarySearch(target);
+    }
+
+    /**
+     * @function findLastOccurrence
+     * @description Finds the last record with a key
+     * @param target long - Key to search for
+     * @returns long - Index of the last occurrence, -1 if not found
+     */
+    public long findLastOccurrence(long target) {
+        long end = bound(target, true);
+        return end > 0 && key(end - 1) == target ? end - 1 : -1;
+    }
+
+    /**
+     * @function findInsertPosition
+     * @description Finds where a key would be inserted to keep the file sorted
+     * @param target long - Key to insert
+     * @returns long - Index of the first record whose key is not less than target
+     */
+    public long findInsertPosition(long target) {
+        return bound(target, false);
+    }
+
+    /**
+     * @function bound
+     * @description First record whose key is greater than target (upper) or
+     *              not less than target (lower). The cache narrows the range to
+     *              one stride before the file is read.
+     * @param target long - Key to search for
+     * @param upper  boolean - Whether keys equal to target are skipped
+     * @returns long - Record index in [0, length]
+     */
+    private long bound(long target, boolean upper) {
+        int cacheLow = 0;
+        int cacheHigh = cacheKeys.length;
+        while (cacheLow < cacheHigh) {
+            int mid = (cacheLow + cacheHigh) >>> 1;
+            if (cacheKeys[mid] < target || (upper && cacheKeys[mid] == target)) {
+                cacheLow = mid + 1;
+            } else {
+                cacheHigh = mid;
+            }
+        }
+        // Every cached record before cacheLow is before the answer, the next one is not
+        long low = cacheLow == 0 ? 0 : cachedRecord(cacheLow - 1) + 1;
+        long high = cacheLow == cacheKeys.length ? length : cachedRecord(cacheLow);
+
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            long key = key(mid);
+            if (key < target || (upper && key == target)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @function cachedRecord
+     * @description Record index whose key is held in a cache entry
+     * @param entry int - Cache entry
+     * @returns long - Record index
+     */
+    private long cachedRecord(int entry) {
+        return (entry + 1) * cacheStride - 1;
+    }
+
+    /**
+     * @function writeRecords
+     * @description Writes big-endian records of (key, key * 31) to a file
+     * @param file Path - File to write
+     * @param keys long[] - Sorted keys
+     * @returns void
+     * @throws IOException - If the file cannot be written
+     */
+    private static void writeRecords(Path file, long[] keys) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+            for (long key : keys) {
+                if (buffer.remaining() < 2 * Long.BYTES) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                buffer.putLong(key).putLong(key * 31);
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * @function testMappedSortedFile
+     * @description Compares every search method with binary_search-style
+     *              results on the keys in memory, with and without a cache and
+     *              with segments small enough that the file spans many of them
+     * @returns void
+     */
+    public static void testMappedSortedFile() {
+        System.out.println("=== Mapped Sorted File Test ===");
+
+        Path file = null;
+        try {
+            file = Files.createTempFile("mapped_sorted_file", ".bin");
+            Random random = new Random(42);
+            long[] keys = new long[100_000];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = random.nextInt(50_000) - 25_000L;
+            }
+            keys[0] = Long.MIN_VALUE;
+            keys[1] = Long.MAX_VALUE;
+            Arrays.sort(keys);
+            writeRecords(file, keys);
+
+            mapped_sorted_file[] searchers = {
+                    open(file, 2 * Long.BYTES),
+                    open(file, 2 * Long.BYTES, ByteOrder.BIG_ENDIAN, 1023),
+                    open(file, 2 * Long.BYTES, ByteOrder.BIG_ENDIAN, 7, 4096 + 8) };
+            String[] names = { "No cache", "1023 cached keys", "7 cached keys, 4 KB segments" };
+
+            for (int s = 0; s < searchers.length; s++) {
+                mapped_sorted_file searcher = searchers[s];
+                boolean matches = searcher.length() == keys.length;
+                for (int q = 0; q < 20_000 && matches; q++) {
+                    long target = q < 4 ? new long[] { Long.MIN_VALUE, Long.MAX_VALUE, -30_000, 30_000 }[q]
+                            : random.nextInt(52_000) - 26_000L;
+                    long first = lowerBound(keys, target);
+                    long last = lowerBound(keys, target + 1) - 1;
+                    boolean found = first < keys.length && keys[(int) first] == target;
+                    if (target == Long.MAX_VALUE) {
+                        last = keys.length - 1;
+                    }
+
+                    long index = searcher.binarySearch(target);
+                    matches = searcher.findInsertPosition(target) == first
+                            && searcher.findFirstOccurrence(target) == (found ? first : -1)
+                            && searcher.findLastOccurrence(target) == (found ? last : -1)
+                            && (found ? index >= 0 && keys[(int) index] == target : index == -1)
+                            && (!found || searcher.payload(first).getLong(0) == target * 31);
+                }
+                System.out.println(names[s] + ": " + (matches ? "PASSED" : "FAILED"));
+            }
+
+            mapped_sorted_file searcher = searchers[0];
+            long target = keys[keys.length / 2];
+            System.out.println("Key " + target + ": first at " + searcher.findFirstOccurrence(target) + ", last at "
+                    + searcher.findLastOccurrence(target) + ", payload " + searcher.payload(
+                            searcher.findFirstOccurrence(target)).getLong(0));
+            System.out.println();
+        } catch (IOException e) {
+            System.out.println("Mapped search failed: " + e.getMessage());
+        } finally {
+            try {
+                if (file != null) {
+                    Files.deleteIfExists(file);
+                }
+            } catch (IOException ignored) {
+                // Temporary files are cleaned up by the OS eventually
+            }
+        }
+    }
+
+    /**
+     * @function lowerBound
+     * @description Reference lower bound on an in-memory array
+     * @param keys   long[] - Sorted keys
+     * @param target long - Key to search for
+     * @returns long - Index of the first key not less than target
+     */
+    private static long lowerBound(long[] keys, long target) {
+        int index = Arrays.binarySearch(keys, target);
+        if (index < 0) {
+            return -index - 1;
+        }
+        while (index > 0 && keys[index - 1] == target) {
+            index--;
+        }
+        return index;
+    }
+
+    /**
+     * @function performanceTest
+     * @description Times lookups in a mapped file with and without a cache of
+     *              the top levels
+     * @returns void
+     */
+    public static void performanceTest() {
+        System.out.println("=== Performance Test ===");
+
+        Path file = null;
+        try {
+            file = Files.createTempFile("mapped_sorted_file", ".bin");
+            Random random = new Random(7);
+            long[] keys = new long[1 << 22];
+            for (int i = 1; i < keys.length; i++) {
+                keys[i] = keys[i - 1] + random.nextInt(1_000);
+            }
+            writeRecords(file, keys);
+
+            long[] queries = new long[1 << 20];
+            for (int i = 0; i < queries.length; i++) {
+                queries[i] = Math.floorMod(random.nextLong(), keys[keys.length - 1] + 1);
+            }
+
+            for (int cacheEntries : new int[] { 0, (1 << 12) - 1, (1 << 16) - 1 }) {
+                mapped_sorted_file searcher = open(file, 2 * Long.BYTES, ByteOrder.BIG_ENDIAN, cacheEntries);
+                long checksum = 0;
+                long startTime = System.nanoTime();
+                for (long query : queries) {
+                    checksum += searcher.findInsertPosition(query);
+                }
+                double duration = (System.nanoTime() - startTime) / 1_000_000.0;
+                System.out.printf("%d lookups in %d records, %d cached keys: %.2f ms (checksum %d)%n",
+                        queries.length, searcher.length(), cacheEntries, duration, checksum);
+            }
+        } catch (IOException e) {
+            System.out.println("Mapped search failed: " + e.getMessage());
+        } finally {
+            try {
+                if (file != null) {
+                    Files.deleteIfExists(file);
+                }
+            } catch (IOException ignored) {
+                // Temporary files are cleaned up by the OS eventually
+            }
+        }
+    }
+
+    /**
+     * @function main
+     * @description Main method to run the mapped sorted file demonstration
+     * @param args String[] - Command line arguments
+     * @returns void
+     */
+    public static void main(String[] args) {
+        System.out.println("Mapped Sorted File Search Implementation");
+        System.out.println("=======================================");
+
+        testMappedSortedFile();
+        performanceTest();
+
+        System.out.println("\nMapped Sorted File Search completed successfully!");
+    }
+}
@@ -0,0 +1,261 @@
+
+/**
+ * @file auto_sorter.java
+ * @description Sorter that picks an algorithm from sampled input statistics
+ * @author Algorithm Collection
+ * @version 1.0
+ */
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.ConsoleHandler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * @class AutoSorter
+ * @description Samples the input (size, value range, presortedness and
+ *              duplicate ratio) and hands it to the sorter expected to be
+ *              fastest. Every decision is logged at FINE level together with the
+ *              statistics it was based on.
+ */
+public class auto_sorter implements sorter {
+
+    private static final Logger LOGGER = Logger.getLogger(auto_sorter.class.getName());
+
+    // Number of positions sampled for presortedness and duplicates
+    private static final int SAMPLE_SIZE = 1024;
+
+    // Inputs up to this size go straight to insertion sort
+    private static final int SMALL_INPUT = 32;
+
+    // Counting sort is chosen while the value range is at most this times n
+    private static final int DENSE_RANGE_FACTOR = 2;
+
+    // Fraction of sampled adjacent pairs in order that counts as presorted
+    private static final double PRESORTED_FRACTION = 0.9;
+
+    // Sampled distinct values at or below SAMPLE_SIZE / this count as few
+    private static final int FEW_DISTINCT_DIVISOR = 16;
+
+    // Inputs at or above this size go to radix sort
+    private static final int LARGE_INPUT = 1 << 16;
+
+    private final sorter insertion = new insertion_sort();
+    private final sorter counting = new counting_sort();
+    private final sorter merge = new merge_sort();
+    private final sorter radix = new radix_sort();
+    private final sorter quick = new quick_sort();
+
+    /**
+     * @class InputStats
+     * @description Statistics gathered from one input array
+     */
+    public static final class InputStats {
+        final int size;
+        final int min;
+        final int max;
+        final double ascendingFraction;
+        final double descendingFraction;
+        final double duplicateRatio;
+
+        InputStats(int size, int min, int max, double ascendingFraction, double descendingFraction,
+                double duplicateRatio) {
+            this.size = size;
+            this.min = min;
+            this.max = max;
+            this.ascendingFraction = ascendingFraction;
+            this.descendingFraction = descendingFraction;
+            this.duplicateRatio = duplicateRatio;
+        }
+
+        /**
+         * @function range
+         * @description Number of distinct values between min and max inclusive
+         * @returns long - max - min + 1
+         */
+        long range() {
+            return (long) max - min + 1;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("n=%d, range=%d, ascending=%.2f, descending=%.2f, duplicates=%.2f",
+                    size, range(), ascendingFraction, descendingFraction, duplicateRatio);
+        }
+    }
+
+    /**
+     * @function sample
+     * @description Gathers input statistics. Min and max come from a full scan;
+     *              presortedness is the fraction of sampled adjacent pairs in
+     *              order, and the duplicate ratio is measured on a random sample.
+     * @param arr int[] - Input to inspect (not modified)
+     * @returns InputStats - Statistics of the input
+     */
+    public static InputStats sample(int[] arr) {
+        int n = arr.length;
+        int min = n == 0 ? 0 : arr[0];
+        int max = min;
+        for (int value : arr) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        if (n < 2) {
+            return new InputStats(n, min, max, 1.0, 1.0, 0.0);
+        }
+
+        // Adjacent pairs at evenly spaced positions
+        int pairs = Math.min(SAMPLE_SIZE, n - 1);
+        int ascending = 0;
+        int descending = 0;
+        for (int i = 0; i < pairs; i++) {
+            int p = (int) ((long) i * (n - 1) / pairs);
+            if (arr[p] <= arr[p + 1]) {
+                ascending++;
+            }
+            if (arr[p] >= arr[p + 1]) {
+                descending++;
+            }
+        }
+
+        // Distinct values among random positions
+        int sampleSize = Math.min(SAMPLE_SIZE, n);
+        int[] values = new int[sampleSize];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < sampleSize; i++) {
+            values[i] = arr[sampleSize == n ? i : random.nextInt(n)];
+        }
+        Arrays.sort(values);
+        int distinct = 1;
+        for (int i = 1; i < sampleSize; i++) {
+            if (values[i] != values[i - 1]) {
+                distinct++;
+            }
+        }
+
+        return new InputStats(n, min, max, (double) ascending / pairs, (double) descending / pairs,
+                1.0 - (double) distinct / sampleSize);
+    }
+
+    /**
+     * @function choose
+     * @description Picks the sorter for an input and logs the decision
+     * @param arr int[] - Input to be sorted (not modified)
+     * @returns sorter - The chosen sorter
+     */
+    public sorter choose(int[] arr) {
+        InputStats stats = sample(arr);
+        String reason;
+        sorter chosen;
+
+        if (stats.size <= SMALL_INPUT) {
+            chosen = insertion;
+            reason = "small input";
+        } else if (stats.range() <= (long) DENSE_RANGE_FACTOR * stats.size) {
+            chosen = counting;
+            reason = "dense value range";
+        } else if (stats.ascendingFraction >= PRESORTED_FRACTION
+                || stats.descendingFraction >= PRESORTED_FRACTION) {
+            chosen = merge;
+            reason = "presorted runs";
+        } else if (stats.duplicateRatio >= 1.0 - 1.0 / FEW_DISTINCT_DIVISOR) {
+            chosen = counting;
+            reason = "few distinct values";
+        } else if (stats.size >= LARGE_INPUT) {
+            chosen = radix;
+            reason = "large input";
+        } else {
+            chosen = quick;
+            reason = "general input";
+        }
+
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine(String.format("%s -> %s (%s)", stats, chosen.name(), reason));
+        }
+        return chosen;
+    }
+
+    /**
+     * @function sort
+     * @description Sorts the array with the sorter chosen for it
+     * @param arr int[] - Array to be sorted
+     * @returns void - Sorts the array in place
+     */
+    @Override
+    public void sort(int[] arr) {
+        if (arr == null || arr.length <= 1) {
+            return;
+        }
+        choose(arr).sort(arr);
+    }
+
+    /**
+     * @function testAutoSorter
+     * @description Sorts inputs of different shapes and prints the chosen
+     *              algorithm and timing next to Arrays.sort
+     * @returns void
+     */
+    public static void testAutoSorter() {
+        System.out.println("=== Auto Sorter Test ===");
+
+        auto_sorter autoSorter = new auto_sorter();
+        Random random = new Random(3);
+        int size = 500_000;
+
+        int[] small = { 5, 3, 9, 1, 7 };
+        int[] dense = new int[size];
+        int[] nearlySorted = new int[size];
+        int[] fewDistinct = new int[size];
+        int[] wide = new int[size];
+        for (int i = 0; i < size; i++) {
+            dense[i] = random.nextInt(size);
+            nearlySorted[i] = i * 1000 + (random.nextInt(100) == 0 ? -random.nextInt(1_000_000) : 0);
+            fewDistinct[i] = random.nextInt(10) * 1_000_000;
+            wide[i] = random.nextInt();
+        }
+
+        String[] names = { "Small", "Dense", "Nearly sorted", "Few distinct", "Wide range" };
+        int[][] inputs = { small, dense, nearlySorted, fewDistinct, wide };
+        for (int i = 0; i < inputs.length; i++) {
+            int[] arr = inputs[i];
+            int[] expected = arr.clone();
+
+            long startTime = System.nanoTime();
+            Arrays.sort(expected);
+            long baseline = System.nanoTime() - startTime;
+
+            startTime = System.nanoTime();
+            sorter chosen = autoSorter.choose(arr);
+            chosen.sort(arr);
+            long elapsed = System.nanoTime() - startTime;
+
+            System.out.printf("%s (n=%d): %s, %.2f ms (Arrays.sort %.2f ms), correct: %b%n", names[i], arr.length,
+                    chosen.name(), elapsed / 1_000_000.0, baseline / 1_000_000.0, Arrays.equals(arr, expected));
+        }
+        System.out.println();
+    }
+
+    /**
+     * @function main
+     * @description Main method to run the auto sorter demonstration
+     * @param args String[] - Command line arguments
+     * @returns void
+     */
+    public static void main(String[] args) {
+        System.out.println("Auto Sorter Implementation");
+        System.out.println("==========================");
+
+        // Show the selection log on the console
+        ConsoleHandler handler = new ConsoleHandler();
+        handler.setLevel(Level.FINE);
+        LOGGER.addHandler(handler);
+        LOGGER.setLevel(Level.FINE);
+        LOGGER.setUseParentHandlers(false);
+
+        testAutoSorter();
+
+        System.out.println("Auto Sorter completed successfully!");
+    }
+}
@@ -12,7 +12,7 @@ import java.util.Arrays;
  * @class BubbleSort
  * @description Class containing Bubble Sort algorithm implementation
  */
-public class bubble_sort {
+public class bubble_sort implements sorter {
 
     /**
      * @function bubbleSort
@@ -67,6 +67,20 @@ public class bubble_sort {
         } while (swapped);
     }
 
+    /**
+     * @function sort
+     * @description Sorter entry point, using the optimized bubble sort
+     * @param arr int[] - Array to be sorted
+     * @returns void - Sorts the array in place
+     */
+    @Override
+    public void sort(int[] arr) {
+        if (arr == null || arr.length <= 1) {
+            return;
+        }
+        bubbleSortOptimized(arr);
+    }
+
     /**
      * @function printArray
      * @description Prints the elements of an array
@@ -7,16 +7,37 @@
  */
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * @class BucketSort
  * @description Class containing Bucket Sort algorithm implementation
  */
-public class bucket_sort {
+public class bucket_sort implements sorter {
+
+    // Arrays smaller than this are sorted directly without bucketing
+    private static final int MIN_BUCKET_SORT_SIZE = 64;
+
+    // Average number of elements aimed for per bucket
+    private static final int TARGET_BUCKET_SIZE = 32;
+
+    // Upper bound on the number of buckets, keeping the splitters cache friendly
+    private static final int MAX_BUCKETS = 1 << 16;
+
+    // Samples taken per bucket when choosing bucket boundaries
+    private static final int OVERSAMPLING = 8;
+
+    // Arrays at or below this size are sorted on the calling thread only
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
 
     /**
      * @function bucketSort
-     * @description Sorts an array using bucket sort algorithm
+     * @description Sorts an array using bucket sort. Bucket boundaries are picked
+     *              from a sorted random sample, so skewed distributions still
+     *              give evenly sized buckets. A counting pass sizes the buckets
+     *              up front, elements are scattered into one flat array and each
+     *              bucket is sorted in place; no per-element objects are created.
      * @param arr double[] - Array to be sorted
      * @returns void - Sorts the array in place
      */
@@ -24,38 +45,114 @@ public class bucket_sort {
         if (arr.length == 0) {
             return;
         }
+        flatBucketSort(arr, 1);
+    }
 
-        // Find maximum and minimum values
-        double max = Arrays.stream(arr).max().getAsDouble();
-        double min = Arrays.stream(arr).min().getAsDouble();
+    /**
+     * @function bucketSortParallel
+     * @description Bucket sort with the counting, scatter and per-bucket sorting
+     *              passes split across threads
+     * @param arr         double[] - Array to be sorted
+     * @param parallelism int - Number of worker threads to use
+     * @returns void - Sorts the array in place
+     */
+    public static void bucketSortParallel(double[] arr, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        if (arr.length == 0) {
+            return;
+        }
+        flatBucketSort(arr, parallelism);
+    }
 
-        // Create buckets
-        int bucketCount = arr.length;
-        List<Double>[] buckets = new List[bucketCount];
+    /**
+     * @function flatBucketSort
+     * @description Sample-based bucket sort using a flat output array
+     * @param arr         double[] - Array to be sorted
+     * @param parallelism int - Number of worker threads to use
+     * @returns void
+     */
+    private static void flatBucketSort(double[] arr, int parallelism) {
+        int n = arr.length;
+        if (n < MIN_BUCKET_SORT_SIZE) {
+            Arrays.sort(arr);
+            return;
+        }
 
-        // Initialize buckets
-        for (int i = 0; i < bucketCount; i++) {
-            buckets[i] = new ArrayList<>();
+        double[] splitters = sampleSplitters(arr, Math.min(MAX_BUCKETS, n / TARGET_BUCKET_SIZE));
+        int bucketCount = splitters.length + 1;
+        int chunks = n <= PARALLEL_THRESHOLD ? 1 : parallelism;
+        ForkJoinPool pool = chunks > 1 ? new ForkJoinPool(chunks) : null;
+
+        try {
+            double[] output = new double[n];
+            int[] bucketStart = parallel_chunks.scatterByBucket(pool, chunks, n, bucketCount,
+                    i -> bucketIndex(splitters, arr[i]), (from, to) -> output[to] = arr[from]);
+
+            // Sort each bucket in place within the flat array
+            parallel_chunks.runChunks(pool, chunks, c -> {
+                int end = parallel_chunks.chunkStart(bucketCount, chunks, c + 1);
+                for (int b = parallel_chunks.chunkStart(bucketCount, chunks, c); b < end; b++) {
+                    if (bucketStart[b + 1] - bucketStart[b] > 1) {
+                        Arrays.sort(output, bucketStart[b], bucketStart[b + 1]);
+                    }
+                }
+            });
+
+            System.arraycopy(output, 0, arr, 0, n);
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
         }
+    }
 
-        // Distribute elements into buckets
-        for (double value : arr) {
-            int bucketIndex = (int) ((value - min) * (bucketCount - 1) / (max - min));
-            buckets[bucketIndex].add(value);
+    /**
+     * @function sampleSplitters
+     * @description Picks bucket boundaries at evenly spaced ranks of a sorted
+     *              random sample. Repeated values yield repeated splitters, which
+     *              simply leave some buckets empty.
+     * @param arr         double[] - Array to sample from
+     * @param bucketCount int - Desired number of buckets
+     * @returns double[] - Sorted splitters, one fewer than the number of buckets
+     */
+    private static double[] sampleSplitters(double[] arr, int bucketCount) {
+        int sampleSize = (int) Math.min(arr.length, (long) bucketCount * OVERSAMPLING);
+        double[] sample = new double[sampleSize];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < sampleSize; i++) {
+            sample[i] = arr[random.nextInt(arr.length)];
         }
+        Arrays.sort(sample);
 
-        // Sort each bucket
-        for (List<Double> bucket : buckets) {
-            Collections.sort(bucket);
+        double[] splitters = new double[bucketCount - 1];
+        for (int i = 0; i < splitters.length; i++) {
+            splitters[i] = sample[(int) ((long) (i + 1) * sampleSize / bucketCount)];
         }
+        return splitters;
+    }
 
-        // Concatenate buckets back into array
-        int index = 0;
-        for (List<Double> bucket : buckets) {
-            for (double value : bucket) {
-                arr[index++] = value;
+    /**
+     * @function bucketIndex
+     * @description Bucket of a value: the number of splitters less than or equal
+     *              to it, found by binary search using Double.compare ordering
+     * @param splitters double[] - Sorted bucket boundaries
+     * @param value     double - Value to place
+     * @returns int - Bucket index
+     */
+    private static int bucketIndex(double[] splitters, double value) {
+        int low = 0;
+        int high = splitters.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Double.compare(splitters[mid], value) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
             }
         }
+        return low;
     }
 
     /**
@@ -72,6 +169,9 @@ public class bucket_sort {
         // Find maximum and minimum values
         int max = Arrays.stream(arr).max().getAsInt();
         int min = Arrays.stream(arr).min().getAsInt();
+        if (max == min) {
+            return;
+        }
 
         // Create buckets
         int bucketCount = Math.max(1, arr.length / 10);
@@ -82,9 +182,9 @@ public class bucket_sort {
             buckets[i] = new ArrayList<>();
         }
 
-        // Distribute elements into buckets
+        // Distribute elements into buckets (long arithmetic avoids overflow on wide ranges)
         for (int value : arr) {
-            int bucketIndex = (int) ((value - min) * (bucketCount - 1) / (max - min));
+            int bucketIndex = (int) (((long) value - min) * (bucketCount - 1) / ((long) max - min));
             buckets[bucketIndex].add(value);
         }
 
@@ -239,6 +339,20 @@ public class bucket_sort {
         }
     }
 
+    /**
+     * @function sort
+     * @description Sorter entry point, using the integer bucket sort
+     * @param arr int[] - Array to be sorted
+     * @returns void - Sorts the array in place
+     */
+    @Override
+    public void sort(int[] arr) {
+        if (arr == null || arr.length <= 1) {
+            return;
+        }
+        bucketSortInteger(arr);
+    }
+
     /**
      * @function printArray
      * @description Prints the elements of an array
@@ -294,6 +408,21 @@ public class bucket_sort {
         bucketSortWithComparator(arr5, Integer::compareTo);
         System.out.println("Sorted array: " + Arrays.toString(arr5));
         System.out.println();
+
+        // Test case 6: Skewed distribution with negatives, sequential and parallel
+        double[] arr6 = new double[200_000];
+        Random random = new Random(7);
+        for (int i = 0; i < arr6.length; i++) {
+            arr6[i] = Math.exp(random.nextGaussian() * 5) * (random.nextBoolean() ? 1 : -1);
+        }
+        double[] arr7 = arr6.clone();
+        double[] expected6 = arr6.clone();
+        Arrays.sort(expected6);
+        bucketSort(arr6);
+        bucketSortParallel(arr7, Runtime.getRuntime().availableProcessors());
+        System.out.println("Skewed array of " + arr6.length + " matches Arrays.sort: "
+                + Arrays.equals(arr6, expected6) + " (parallel: " + Arrays.equals(arr7, expected6) + ")");
+        System.out.println();
     }
 
     /**
@@ -7,12 +7,35 @@
  */
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * @class CountingSort
  * @description Class containing Counting Sort algorithm implementation
  */
-public class counting_sort {
+public class counting_sort implements sorter {
+
+    // Bits per digit when the key range is too large for a single count array
+    private static final int DIGIT_BITS = 16;
+
+    // Bits per digit in the radix fallback for arrays below SMALL_RADIX_SIZE
+    private static final int SMALL_DIGIT_BITS = 8;
+
+    // Below this many elements a 65,536-entry count array would outweigh the
+    // input, so the radix fallback uses SMALL_DIGIT_BITS instead
+    private static final int SMALL_RADIX_SIZE = 1 << 16;
+
+    // Dense counting is used while the value range is at most this many times n
+    private static final int DENSE_RANGE_FACTOR = 2;
+
+    // Per-thread histograms may use at most this many ints per element in total
+    private static final int HISTOGRAM_BUDGET_FACTOR = 4;
+
+    // Sparse input is hash-counted while distinct values are at most n / this
+    private static final int HASH_DISTINCT_DIVISOR = 8;
+
+    // Arrays at or below this size are sorted on the calling thread only
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
 
     /**
      * @function countingSort
@@ -164,6 +187,301 @@ public class counting_sort {
         System.arraycopy(output, 0, arr, 0, arr.length);
     }
 
+    /**
+     * @function countingSortParallel
+     * @description Counting sort with per-thread histograms merged by prefix
+     *              sums. When the value range is much larger than n the count
+     *              array is not allocated: input with few distinct values is
+     *              counted in a primitive hash table, anything else falls back
+     *              to a radix sort built from counting passes over 16-bit
+     *              digits, or 8-bit digits for arrays below SMALL_RADIX_SIZE.
+     * @param arr         int[] - Array to be sorted
+     * @param parallelism int - Number of worker threads to use
+     * @returns void - Sorts the array in place
+     */
+    public static void countingSortParallel(int[] arr, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        int n = arr.length;
+        if (n <= 1) {
+            return;
+        }
+
+        int min = arr[0];
+        int max = arr[0];
+        for (int value : arr) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        long range = (long) max - min + 1;
+
+        if (range > (long) DENSE_RANGE_FACTOR * n) {
+            if (!hashCountingSort(arr, n / HASH_DISTINCT_DIVISOR)) {
+                countingRadixSort(arr, min, max);
+            }
+            return;
+        }
+
+        // Fewer histograms when the range is wide, to bound their memory
+        int chunks = n <= PARALLEL_THRESHOLD ? 1
+                : (int) Math.min(parallelism, Math.max(1, (long) HISTOGRAM_BUDGET_FACTOR * n / range));
+        int width = (int) range;
+        int base = min;
+        ForkJoinPool pool = chunks > 1 ? new ForkJoinPool(chunks) : null;
+
+        try {
+            int[][] histograms = new int[chunks][];
+            parallel_chunks.runChunks(pool, chunks, c -> {
+                int[] count = new int[width];
+                int end = parallel_chunks.chunkStart(n, chunks, c + 1);
+                for (int i = parallel_chunks.chunkStart(n, chunks, c); i < end; i++) {
+                    count[arr[i] - base]++;
+                }
+                histograms[c] = count;
+            });
+
+            // Merge the histograms slice by slice into the first one
+            int[] total = histograms[0];
+            parallel_chunks.runChunks(pool, chunks, c -> {
+                int end = parallel_chunks.chunkStart(width, chunks, c + 1);
+                for (int v = parallel_chunks.chunkStart(width, chunks, c); v < end; v++) {
+                    for (int h = 1; h < chunks; h++) {
+                        total[v] += histograms[h][v];
+                    }
+                }
+            });
+
+            int[] start = new int[width + 1];
+            for (int v = 0; v < width; v++) {
+                start[v + 1] = start[v] + total[v];
+            }
+
+            // Each slice of values writes its own contiguous part of the output
+            parallel_chunks.runChunks(pool, chunks, c -> {
+                int end = parallel_chunks.chunkStart(width, chunks, c + 1);
+                for (int v = parallel_chunks.chunkStart(width, chunks, c); v < end; v++) {
+                    Arrays.fill(arr, start[v], start[v + 1], base + v);
+                }
+            });
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * @function hashCountingSort
+     * @description Counts values in an open-addressing hash table of primitive
+     *              ints, then writes each distinct value out in sorted order
+     * @param arr         int[] - Array to be sorted
+     * @param maxDistinct int - Give up once more distinct values are seen
+     * @returns boolean - False if there were too many distinct values, in which
+     *          case arr is left unchanged
+     */
+    private static boolean hashCountingSort(int[] arr, int maxDistinct) {
+        if (maxDistinct < 1) {
+            return false;
+        }
+        int capacity = Integer.highestOneBit(maxDistinct) << 2;
+        int mask = capacity - 1;
+        int[] keys = new int[capacity];
+        int[] counts = new int[capacity];
+        int distinct = 0;
+
+        for (int value : arr) {
+            int slot = hashSlot(value, mask);
+            while (counts[slot] != 0 && keys[slot] != value) {
+                slot = (slot + 1) & mask;
+            }
+            if (counts[slot] == 0) {
+                if (++distinct > maxDistinct) {
+                    return false;
+                }
+                keys[slot] = value;
+            }
+            counts[slot]++;
+        }
+
+        // Sort the distinct values, then look up each count once
+        int[] values = new int[distinct];
+        for (int slot = 0, d = 0; slot < capacity; slot++) {
+            if (counts[slot] != 0) {
+                values[d++] = keys[slot];
+            }
+        }
+        Arrays.sort(values);
+
+        int position = 0;
+        for (int value : values) {
+            int slot = hashSlot(value, mask);
+            while (keys[slot] != value || counts[slot] == 0) {
+                slot = (slot + 1) & mask;
+            }
+            Arrays.fill(arr, position, position + counts[slot], value);
+            position += counts[slot];
+        }
+        return true;
+    }
+
+    /**
+     * @function hashSlot
+     * @description Home slot of a value in a power-of-two sized hash table
+     * @param value int - Value to hash
+     * @param mask  int - Table size minus one
+     * @returns int - Slot index
+     */
+    private static int hashSlot(int value, int mask) {
+        int h = value * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * @function countingRadixSort
+     * @description Radix sort made of stable counting passes over the digits
+     *              of each value's offset from min, low digit first. Digits are
+     *              16 bits wide, or 8 bits for arrays below SMALL_RADIX_SIZE so
+     *              the count array stays small, and digits above the highest
+     *              set bit of max - min are skipped.
+     * @param arr int[] - Array to be sorted
+     * @param min int - Smallest value in arr
+     * @param max int - Largest value in arr
+     * @returns void
+     */
+    private static void countingRadixSort(int[] arr, int min, int max) {
+        int digitBits = arr.length < SMALL_RADIX_SIZE ? SMALL_DIGIT_BITS : DIGIT_BITS;
+        // Offsets from min fit in 32 unsigned bits
+        int keyBits = Integer.SIZE - Integer.numberOfLeadingZeros(max - min);
+        int mask = (1 << digitBits) - 1;
+        int[] count = new int[1 << digitBits];
+        int[] src = arr;
+        int[] dst = new int[arr.length];
+
+        for (int shift = 0; shift < keyBits; shift += digitBits) {
+            Arrays.fill(count, 0);
+            for (int value : src) {
+                count[((value - min) >>> shift) & mask]++;
+            }
+            exclusivePrefixSums(count);
+            for (int value : src) {
+                dst[count[((value - min) >>> shift) & mask]++] = value;
+            }
+
+            int[] sorted = dst;
+            dst = src;
+            src = sorted;
+        }
+
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, 0, arr.length);
+        }
+    }
+
+    /**
+     * @function argsort
+     * @description Stable counting sort of indices by key. Returns the
+     *              permutation that sorts keys without moving them: keys[perm[0]],
+     *              keys[perm[1]], ... is in ascending order and equal keys keep
+     *              their original relative order. Small key ranges take a single
+     *              counting pass; larger ranges take two stable counting passes
+     *              over 16-bit digits, so the count arrays never exceed 65,536
+     *              entries and no value is boxed.
+     * @param keys int[] - Keys to sort by (not modified)
+     * @returns int[] - Sorting permutation of indices into keys
+     */
+    public static int[] argsort(int[] keys) {
+        int n = keys.length;
+        int[] perm = new int[n];
+        if (n == 0) {
+            return perm;
+        }
+
+        int min = keys[0];
+        int max = keys[0];
+        for (int key : keys) {
+            min = Math.min(min, key);
+            max = Math.max(max, key);
+        }
+        long range = (long) max - min + 1;
+
+        if (range <= Math.max(n, 1 << DIGIT_BITS)) {
+            int[] position = new int[(int) range];
+            for (int key : keys) {
+                position[key - min]++;
+            }
+
+            // Exclusive prefix sums give the first slot of every key
+            int total = 0;
+            for (int i = 0; i < position.length; i++) {
+                int count = position[i];
+                position[i] = total;
+                total += count;
+            }
+
+            for (int i = 0; i < n; i++) {
+                perm[position[keys[i] - min]++] = i;
+            }
+            return perm;
+        }
+
+        // Key offsets from min fit in 32 unsigned bits: sort by the low digit,
+        // then stably by the high digit
+        int mask = (1 << DIGIT_BITS) - 1;
+        int[] position = new int[1 << DIGIT_BITS];
+        int[] lowOrder = new int[n];
+
+        for (int key : keys) {
+            position[(key - min) & mask]++;
+        }
+        exclusivePrefixSums(position);
+        for (int i = 0; i < n; i++) {
+            lowOrder[position[(keys[i] - min) & mask]++] = i;
+        }
+
+        Arrays.fill(position, 0);
+        for (int key : keys) {
+            position[(key - min) >>> DIGIT_BITS]++;
+        }
+        exclusivePrefixSums(position);
+        for (int index : lowOrder) {
+            perm[position[(keys[index] - min) >>> DIGIT_BITS]++] = index;
+        }
+        return perm;
+    }
+
+    /**
+     * @function exclusivePrefixSums
+     * @description Replaces counts with the running total of the counts before
+     *              each entry
+     * @param count int[] - Counts, overwritten with starting positions
+     * @returns void
+     */
+    private static void exclusivePrefixSums(int[] count) {
+        int total = 0;
+        for (int i = 0; i < count.length; i++) {
+            int c = count[i];
+            count[i] = total;
+            total += c;
+        }
+    }
+
+    /**
+     * @function sort
+     * @description Sorter entry point, using the single-threaded counting
+     *              sort, which falls back to hashing or radix sort for sparse
+     *              ranges
+     * @param arr int[] - Array to be sorted
+     * @returns void - Sorts the array in place
+     */
+    @Override
+    public void sort(int[] arr) {
+        if (arr == null || arr.length <= 1) {
+            return;
+        }
+        countingSortParallel(arr, 1);
+    }
+
     /**
      * @function printArray
      * @description Prints the elements of an array
@@ -219,6 +537,37 @@ public class counting_sort {
         countingSortWithRange(arr5, 1, 7);
         System.out.println("Sorted array: " + Arrays.toString(arr5));
         System.out.println();
+
+        // Test case 6: Argsort with small and large key ranges
+        int[] keys6 = { 30, 10, 20, 10, 30 };
+        System.out.println("Keys: " + Arrays.toString(keys6));
+        System.out.println("Argsort permutation: " + Arrays.toString(argsort(keys6)));
+        int[] keys7 = { Integer.MAX_VALUE, -7, 1_000_000, Integer.MIN_VALUE, -7 };
+        System.out.println("Keys: " + Arrays.toString(keys7));
+        System.out.println("Argsort permutation: " + Arrays.toString(argsort(keys7)));
+        System.out.println();
+
+        // Test case 7: Parallel counting sort on dense, sparse and wide inputs,
+        // and on small wide inputs that take the 8-bit radix fallback
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        java.util.Random random = new java.util.Random(11);
+        int[] dense = new int[300_000];
+        int[] sparse = new int[300_000];
+        int[] wide = new int[300_000];
+        for (int i = 0; i < dense.length; i++) {
+            dense[i] = random.nextInt(1000) - 500;
+            sparse[i] = (random.nextInt(100) - 50) * 10_000_000;
+            wide[i] = random.nextInt();
+        }
+        int[] smallWide = random.ints(5_000).toArray();
+        int[] smallMedium = random.ints(5_000, -(1 << 19), 1 << 19).toArray();
+        for (int[] input : new int[][] { dense, sparse, wide, smallWide, smallMedium }) {
+            int[] expected = input.clone();
+            Arrays.sort(expected);
+            countingSortParallel(input, parallelism);
+            System.out.println("Parallel counting sort matches Arrays.sort: " + Arrays.equals(input, expected));
+        }
+        System.out.println();
     }
 
     /**
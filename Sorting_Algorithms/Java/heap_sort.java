@@ -12,7 +12,7 @@ import java.util.Arrays;
  * @class HeapSort
  * @description Class containing Heap Sort algorithm implementation
  */
-public class heap_sort {
+public class heap_sort implements sorter {
 
     /**
      * @function heapSort
@@ -136,6 +136,159 @@ public class heap_sort {
         }
     }
 
+    /**
+     * @function topK
+     * @description Returns the k largest values using a bounded min heap of size
+     *              k, in O(n log k) time and O(k) memory
+     * @param arr int[] - Values to select from (not modified)
+     * @param k   int - Number of values to return
+     * @returns int[] - The min(k, n) largest values in descending order
+     */
+    public static int[] topK(int[] arr, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        TopKAccumulator accumulator = new TopKAccumulator(Math.min(k, arr.length));
+        for (int value : arr) {
+            accumulator.add(value);
+        }
+        return accumulator.toSortedArray();
+    }
+
+    /**
+     * @function partialSort
+     * @description Rearranges the array so that its first k positions hold the k
+     *              smallest values in ascending order; the order of the remaining
+     *              values is unspecified. Uses a max heap over arr[0..k) and runs
+     *              in place in O(n log k) time.
+     * @param arr int[] - Array to be partially sorted
+     * @param k   int - Number of leading positions to sort
+     * @returns void - Rearranges the array in place
+     */
+    public static void partialSort(int[] arr, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        int n = arr.length;
+        k = Math.min(k, n);
+        if (k == 0) {
+            return;
+        }
+
+        // Build a max heap of the first k values
+        for (int i = k / 2 - 1; i >= 0; i--) {
+            heapify(arr, k, i);
+        }
+
+        // Anything smaller than the heap's maximum replaces it
+        for (int i = k; i < n; i++) {
+            if (arr[i] < arr[0]) {
+                swap(arr, 0, i);
+                heapify(arr, k, 0);
+            }
+        }
+
+        // Sort the heap itself in place
+        for (int i = k - 1; i > 0; i--) {
+            swap(arr, 0, i);
+            heapify(arr, i, 0);
+        }
+    }
+
+    /**
+     * @class TopKAccumulator
+     * @description Streaming top-k selector that keeps the k largest values seen
+     *              so far in a min heap of size k. Instances are not thread safe;
+     *              give each thread its own accumulator and combine them with
+     *              merge.
+     */
+    public static final class TopKAccumulator {
+        private final int[] heap;
+        private int size;
+
+        /**
+         * @param k int - Number of values to keep
+         */
+        public TopKAccumulator(int k) {
+            if (k < 0) {
+                throw new IllegalArgumentException("k must not be negative: " + k);
+            }
+            this.heap = new int[k];
+        }
+
+        /**
+         * @function add
+         * @description Offers one value, in O(log k) time
+         * @param value int - Value to offer
+         * @returns void
+         */
+        public void add(int value) {
+            if (size < heap.length) {
+                // Sift the new value up while it is smaller than its parent
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) / 2;
+                    if (heap[parent] <= value) {
+                        break;
+                    }
+                    heap[i] = heap[parent];
+                    i = parent;
+                }
+                heap[i] = value;
+            } else if (size > 0 && value > heap[0]) {
+                // Replace the smallest kept value
+                heap[0] = value;
+                heapifyMin(heap, size, 0);
+            }
+        }
+
+        /**
+         * @function merge
+         * @description Adds every value kept by another accumulator
+         * @param other TopKAccumulator - Accumulator to merge in (not modified)
+         * @returns void
+         */
+        public void merge(TopKAccumulator other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.heap[i]);
+            }
+        }
+
+        /**
+         * @function size
+         * @description Number of values currently kept
+         * @returns int - At most k
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @function toSortedArray
+         * @description The kept values in descending order
+         * @returns int[] - New array of size()
+         */
+        public int[] toSortedArray() {
+            int[] result = Arrays.copyOf(heap, size);
+            heapSortMinHeap(result);
+            return result;
+        }
+    }
+
+    /**
+     * @function sort
+     * @description Sorter entry point, using the heap sort
+     * @param arr int[] - Array to be sorted
+     * @returns void - Sorts the array in place
+     */
+    @Override
+    public void sort(int[] arr) {
+        if (arr == null || arr.length <= 1) {
+            return;
+        }
+        heapSort(arr);
+    }
+
     /**
      * @function printArray
      * @description Prints the elements of an array
@@ -192,6 +345,27 @@ public class heap_sort {
         heapSortMinHeap(arr5);
         System.out.println("Sorted array: " + Arrays.toString(arr5));
         System.out.println();
+
+        // Test case 6: Top-k and partial sort
+        int[] arr6 = { 9, 4, 7, 1, 8, 2, 6, 3, 5, 0 };
+        System.out.println("Original array: " + Arrays.toString(arr6));
+        System.out.println("Top 3: " + Arrays.toString(topK(arr6, 3)));
+        partialSort(arr6, 4);
+        System.out.println("After partialSort(arr, 4): " + Arrays.toString(arr6));
+        System.out.println();
+
+        // Test case 7: Per-thread accumulators merged into one
+        TopKAccumulator first = new TopKAccumulator(3);
+        TopKAccumulator second = new TopKAccumulator(3);
+        for (int value : new int[] { 15, 3, 42, 8 }) {
+            first.add(value);
+        }
+        for (int value : new int[] { 23, 42, 4, 16 }) {
+            second.add(value);
+        }
+        first.merge(second);
+        System.out.println("Merged top 3: " + Arrays.toString(first.toSortedArray()));
+        System.out.println();
     }
 
     /**
@@ -218,6 +392,22 @@ public class heap_sort {
             double duration = (endTime - startTime) / 1_000_000.0; // Convert to milliseconds
             System.out.printf("Array size %d: %.2f ms%n", size, duration);
         }
+
+        // Top 100 of a large array against a full sort
+        int[] large = new int[2_000_000];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = (int) (Math.random() * Integer.MAX_VALUE);
+        }
+
+        long startTime = System.nanoTime();
+        int[] top = topK(large, 100);
+        long endTime = System.nanoTime();
+        System.out.printf("Top %d of %d: %.2f ms%n", top.length, large.length, (endTime - startTime) / 1_000_000.0);
+
+        startTime = System.nanoTime();
+        heapSort(large);
+        endTime = System.nanoTime();
+        System.out.printf("Full heap sort of %d: %.2f ms%n", large.length, (endTime - startTime) / 1_000_000.0);
     }
 
     /**
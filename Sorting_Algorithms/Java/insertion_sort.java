@@ -12,7 +12,7 @@ import java.util.Arrays;
  * @class InsertionSort
  * @description Class containing Insertion Sort algorithm implementation
  */
-public class insertion_sort {
+public class insertion_sort implements sorter {
 
     /**
      * @function insertionSort
@@ -131,6 +131,20 @@ public class insertion_sort {
         return left;
     }
 
+    /**
+     * @function sort
+     * @description Sorter entry point, using the insertion sort
+     * @param arr int[] - Array to be sorted
+     * @returns void - Sorts the array in place
+     */
+    @Override
+    public void sort(int[] arr) {
+        if (arr == null || arr.length <= 1) {
+            return;
+        }
+        insertionSort(arr);
+    }
+
     /**
      * @function printArray
      * @description Prints the elements of an array
@@ -6,13 +6,48 @@
  * @version 1.0
  */
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * @class MergeSort
  * @description Class containing Merge Sort algorithm implementation
  */
-public class merge_sort {
+public class merge_sort implements sorter {
+
+    // int[] ranges at or below this size are finished with sorting_network.sort
+    private static final int NETWORK_SORT_THRESHOLD = 32;
+
+    // Off-heap ranges (sortInto) and key/index pair ranges (sortPairsInto) at or
+    // below this size are finished with insertion sort: the networks only sort
+    // heap arrays, and they are not stable, which the pair sort requires
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    // Ranges at or below this size are sorted sequentially instead of forking
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    // Arrays shorter than this are sorted with binary insertion sort alone
+    private static final int MIN_MERGE = 64;
+
+    // Consecutive wins by one run after which merging switches to galloping
+    private static final int MIN_GALLOP = 7;
+
+    // Size in bytes of the big-endian long key at the start of every record
+    private static final int KEY_SIZE = Long.BYTES;
+
+    // Bytes of heap used per record while sorting a run: keys and record
+    // indices, each with an auxiliary copy
+    private static final int SORT_BYTES_PER_RECORD = 2 * (Long.BYTES + Integer.BYTES);
 
     /**
      * @function mergeSort
@@ -36,17 +71,20 @@ public class merge_sort {
      * @returns void
      */
     private static void mergeSort(int[] arr, int left, int right) {
-        if (left < right) {
-            // Find the middle point
-            int mid = left + (right - left) / 2;
+        if (right - left < NETWORK_SORT_THRESHOLD) {
+            sorting_network.sort(arr, left, right);
+            return;
+        }
 
-            // Sort first and second halves
-            mergeSort(arr, left, mid);
-            mergeSort(arr, mid + 1, right);
+        // Find the middle point
+        int mid = left + (right - left) / 2;
 
-            // Merge the sorted halves
-            merge(arr, left, mid, right);
-        }
+        // Sort first and second halves
+        mergeSort(arr, left, mid);
+        mergeSort(arr, mid + 1, right);
+
+        // Merge the sorted halves
+        merge(arr, left, mid, right);
     }
 
     /**
@@ -133,6 +171,1083 @@ public class merge_sort {
         }
     }
 
+    /**
+     * @function mergeSortParallel
+     * @description Parallel merge sort using a ForkJoinPool. A single auxiliary
+     *              buffer is allocated once and the two arrays swap roles as
+     *              source and destination at each level of the recursion, so no
+     *              temporary arrays are created per merge. Small ranges are
+     *              finished with sorting_network.sort.
+     * @param arr         int[] - Array to be sorted
+     * @param parallelism int - Number of worker threads to use
+     * @returns void - Sorts the array in place
+     */
+    public static void mergeSortParallel(int[] arr, int parallelism) {
+        if (arr == null || arr.length <= 1) {
+            return;
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+
+        // Both arrays start with identical contents; see sortInto
+        int[] aux = arr.clone();
+
+        if (parallelism == 1 || arr.length <= PARALLEL_THRESHOLD) {
+            sortInto(aux, arr, 0, arr.length);
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new MergeSortTask(aux, arr, 0, arr.length));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @class MergeSortTask
+     * @description Fork/join task sorting src[low..high) into dst[low..high)
+     */
+    private static final class MergeSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] src;
+        private final int[] dst;
+        private final int low;
+        private final int high;
+
+        MergeSortTask(int[] src, int[] dst, int low, int high) {
+            this.src = src;
+            this.dst = dst;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= PARALLEL_THRESHOLD) {
+                sortInto(src, dst, low, high);
+                return;
+            }
+
+            int mid = (low + high) >>> 1;
+
+            // Sort both halves into src, then merge them back into dst
+            invokeAll(new MergeSortTask(dst, src, low, mid),
+                    new MergeSortTask(dst, src, mid, high));
+            mergeInto(src, dst, low, mid, high);
+        }
+    }
+
+    /**
+     * @function sortInto
+     * @description Sorts the range [low, high) so that the result ends up in dst.
+     *              On entry src and dst must hold the same values in that range;
+     *              src is used as scratch space and is left in an unspecified
+     *              order.
+     * @param src  int[] - Scratch array holding a copy of the range
+     * @param dst  int[] - Array receiving the sorted range
+     * @param low  int - Starting index (inclusive)
+     * @param high int - Ending index (exclusive)
+     * @returns void
+     */
+    private static void sortInto(int[] src, int[] dst, int low, int high) {
+        if (high - low <= NETWORK_SORT_THRESHOLD) {
+            sorting_network.sort(dst, low, high - 1);
+            return;
+        }
+
+        int mid = (low + high) >>> 1;
+
+        // Swap the roles of the arrays for the next level down
+        sortInto(dst, src, low, mid);
+        sortInto(dst, src, mid, high);
+        mergeInto(src, dst, low, mid, high);
+    }
+
+    /**
+     * @function mergeInto
+     * @description Merges the sorted runs src[low..mid) and src[mid..high) into
+     *              dst[low..high)
+     * @param src  int[] - Array holding the two sorted runs
+     * @param dst  int[] - Array receiving the merged range
+     * @param low  int - Starting index of the first run
+     * @param mid  int - Starting index of the second run
+     * @param high int - Ending index of the second run (exclusive)
+     * @returns void
+     */
+    private static void mergeInto(int[] src, int[] dst, int low, int mid, int high) {
+        // Runs are already in order, so a plain copy is enough
+        if (src[mid - 1] <= src[mid]) {
+            System.arraycopy(src, low, dst, low, high - low);
+            return;
+        }
+
+        int i = low, j = mid, k = low;
+
+        while (i < mid && j < high) {
+            if (src[i] <= src[j]) {
+                dst[k++] = src[i++];
+            } else {
+                dst[k++] = src[j++];
+            }
+        }
+
+        // Copy whichever run still has elements left
+        if (i < mid) {
+            System.arraycopy(src, i, dst, k, mid - i);
+        } else if (j < high) {
+            System.arraycopy(src, j, dst, k, high - j);
+        }
+    }
+
+    /**
+     * @function mergeSortOffHeap
+     * @description Stable parallel merge sort of a signed int or long
+     *              off_heap_array (direct memory or a mapped file) with long
+     *              indices. Works like mergeSortParallel, with data and scratch
+     *              swapping roles at each level, and large merges are split
+     *              between threads by co-ranking so the top levels run in
+     *              parallel too. Nothing is copied onto the heap.
+     * @param data        off_heap_array - Array to be sorted
+     * @param scratch     off_heap_array - Scratch space with the same element
+     *                    size and at least as many elements; its contents are
+     *                    overwritten
+     * @param parallelism int - Number of worker threads to use
+     * @returns void - Sorts the array in place
+     */
+    public static void mergeSortOffHeap(off_heap_array data, off_heap_array scratch, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        if (scratch.elementSize() != data.elementSize() || scratch.length() < data.length()) {
+            throw new IllegalArgumentException("Scratch must match the element size and length of the data");
+        }
+        long n = data.length();
+        if (n <= 1) {
+            return;
+        }
+
+        if (parallelism == 1 || n <= PARALLEL_THRESHOLD) {
+            sortInto(scratch, data, 0, n, false);
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new OffHeapSortTask(scratch, data, 0, n, false));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @class OffHeapSortTask
+     * @description Fork/join task sorting [low, high) into dst, using src as the
+     *              other buffer
+     */
+    private static final class OffHeapSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final off_heap_array src;
+        private final off_heap_array dst;
+        private final long low;
+        private final long high;
+        private final boolean srcHoldsInput;
+
+        OffHeapSortTask(off_heap_array src, off_heap_array dst, long low, long high, boolean srcHoldsInput) {
+            this.src = src;
+            this.dst = dst;
+            this.low = low;
+            this.high = high;
+            this.srcHoldsInput = srcHoldsInput;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= PARALLEL_THRESHOLD) {
+                sortInto(src, dst, low, high, srcHoldsInput);
+                return;
+            }
+
+            long mid = (low + high) >>> 1;
+            invokeAll(new OffHeapSortTask(dst, src, low, mid, !srcHoldsInput),
+                    new OffHeapSortTask(dst, src, mid, high, !srcHoldsInput));
+            new OffHeapMergeTask(src, dst, low, mid, mid, high, low).invoke();
+        }
+    }
+
+    /**
+     * @class OffHeapMergeTask
+     * @description Fork/join task merging the sorted runs src[aLow..aHigh) and
+     *              src[bLow..bHigh) into dst starting at out. Large merges are
+     *              split in half by output position.
+     */
+    private static final class OffHeapMergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final off_heap_array src;
+        private final off_heap_array dst;
+        private final long aLow;
+        private final long aHigh;
+        private final long bLow;
+        private final long bHigh;
+        private final long out;
+
+        OffHeapMergeTask(off_heap_array src, off_heap_array dst, long aLow, long aHigh, long bLow, long bHigh,
+                long out) {
+            this.src = src;
+            this.dst = dst;
+            this.aLow = aLow;
+            this.aHigh = aHigh;
+            this.bLow = bLow;
+            this.bHigh = bHigh;
+            this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            long total = (aHigh - aLow) + (bHigh - bLow);
+            if (total <= PARALLEL_THRESHOLD) {
+                mergeInto(src, dst, aLow, aHigh, bLow, bHigh, out);
+                return;
+            }
+
+            long k = total / 2;
+            long i = coRank(src, aLow, aHigh, bLow, bHigh, k);
+            long j = k - i;
+            invokeAll(new OffHeapMergeTask(src, dst, aLow, aLow + i, bLow, bLow + j, out),
+                    new OffHeapMergeTask(src, dst, aLow + i, aHigh, bLow + j, bHigh, out + k));
+        }
+    }
+
+    /**
+     * @function coRank
+     * @description Number of elements the first run contributes to the first k
+     *              outputs of a stable merge, found by binary search
+     * @param arr   off_heap_array - Array holding both runs
+     * @param aLow  long - Start of the first run
+     * @param aHigh long - End of the first run (exclusive)
+     * @param bLow  long - Start of the second run
+     * @param bHigh long - End of the second run (exclusive)
+     * @param k     long - Number of outputs
+     * @returns long - Elements taken from the first run
+     */
+    private static long coRank(off_heap_array arr, long aLow, long aHigh, long bLow, long bHigh, long k) {
+        long low = Math.max(0, k - (bHigh - bLow));
+        long high = Math.min(k, aHigh - aLow);
+
+        while (low < high) {
+            long i = (low + high) >>> 1;
+            // Ties go to the first run, so a[i] belongs before b[k - i - 1]
+            if (arr.get(aLow + i) <= arr.get(bLow + k - i - 1)) {
+                low = i + 1;
+            } else {
+                high = i;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @function sortInto
+     * @description Sequential off-heap version of sortInto. The input values
+     *              are in whichever of src and dst srcHoldsInput names; leaves
+     *              copy them into dst if needed and finish with insertion sort.
+     * @param src           off_heap_array - Other buffer for the range
+     * @param dst           off_heap_array - Buffer receiving the sorted range
+     * @param low           long - Starting index (inclusive)
+     * @param high          long - Ending index (exclusive)
+     * @param srcHoldsInput boolean - True if the unsorted values are in src
+     * @returns void
+     */
+    private static void sortInto(off_heap_array src, off_heap_array dst, long low, long high,
+            boolean srcHoldsInput) {
+        if (high - low <= INSERTION_SORT_THRESHOLD) {
+            for (long i = low; i < high; i++) {
+                long key = srcHoldsInput ? src.get(i) : dst.get(i);
+                long j = i - 1;
+                while (j >= low && dst.get(j) > key) {
+                    dst.set(j + 1, dst.get(j));
+                    j--;
+                }
+                dst.set(j + 1, key);
+            }
+            return;
+        }
+
+        long mid = (low + high) >>> 1;
+        sortInto(dst, src, low, mid, !srcHoldsInput);
+        sortInto(dst, src, mid, high, !srcHoldsInput);
+        mergeInto(src, dst, low, mid, mid, high, low);
+    }
+
+    /**
+     * @function mergeInto
+     * @description Stable sequential merge of src[aLow..aHigh) and
+     *              src[bLow..bHigh) into dst starting at out
+     * @param src   off_heap_array - Array holding both runs
+     * @param dst   off_heap_array - Array receiving the merged values
+     * @param aLow  long - Start of the first run
+     * @param aHigh long - End of the first run (exclusive)
+     * @param bLow  long - Start of the second run
+     * @param bHigh long - End of the second run (exclusive)
+     * @param out   long - First output index
+     * @returns void
+     */
+    private static void mergeInto(off_heap_array src, off_heap_array dst, long aLow, long aHigh, long bLow,
+            long bHigh, long out) {
+        long i = aLow, j = bLow, k = out;
+
+        while (i < aHigh && j < bHigh) {
+            long a = src.get(i);
+            long b = src.get(j);
+            if (a <= b) {
+                dst.set(k++, a);
+                i++;
+            } else {
+                dst.set(k++, b);
+                j++;
+            }
+        }
+        while (i < aHigh) {
+            dst.set(k++, src.get(i++));
+        }
+        while (j < bHigh) {
+            dst.set(k++, src.get(j++));
+        }
+    }
+
+    /**
+     * @function adaptiveMergeSort
+     * @description Natural-run merge sort in the style of TimSort. Ascending and
+     *              strictly descending runs already present in the input are
+     *              detected (descending ones are reversed), short runs are
+     *              extended with binary insertion sort, and runs are merged
+     *              under the TimSort stack invariants with galloping once one
+     *              run keeps winning. Nearly sorted input costs close to O(n);
+     *              the worst case stays O(n log n). Stable.
+     * @param arr int[] - Array to be sorted
+     * @returns void - Sorts the array in place
+     */
+    public static void adaptiveMergeSort(int[] arr) {
+        if (arr == null || arr.length <= 1) {
+            return;
+        }
+        int n = arr.length;
+
+        if (n < MIN_MERGE) {
+            int runLength = countRunAndMakeAscending(arr, 0, n);
+            binaryInsertionSort(arr, 0, n, runLength);
+            return;
+        }
+
+        int minRun = minRunLength(n);
+        int[] runBase = new int[64];
+        int[] runLength = new int[64];
+        int stackSize = 0;
+        int[][] buffer = new int[1][];
+
+        for (int low = 0; low < n;) {
+            int length = countRunAndMakeAscending(arr, low, n);
+
+            // Extend short runs to minRun elements
+            if (length < minRun) {
+                int forced = Math.min(minRun, n - low);
+                binaryInsertionSort(arr, low, low + forced, low + length);
+                length = forced;
+            }
+
+            runBase[stackSize] = low;
+            runLength[stackSize] = length;
+            stackSize++;
+            stackSize = mergeCollapse(arr, runBase, runLength, stackSize, buffer, false);
+            low += length;
+        }
+
+        mergeCollapse(arr, runBase, runLength, stackSize, buffer, true);
+    }
+
+    /**
+     * @function mergeCollapse
+     * @description Merges runs on the stack until the TimSort invariants hold
+     *              (each run longer than the next two combined and longer than
+     *              the next one), or until one run is left when forced
+     * @param arr       int[] - Array being sorted
+     * @param runBase   int[] - Start index of each pending run
+     * @param runLength int[] - Length of each pending run
+     * @param stackSize int - Number of pending runs
+     * @param buffer    int[][] - Holder for the reusable merge buffer
+     * @param force     boolean - Whether to merge everything into one run
+     * @returns int - New number of pending runs
+     */
+    private static int mergeCollapse(int[] arr, int[] runBase, int[] runLength, int stackSize, int[][] buffer,
+            boolean force) {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (force) {
+                if (n > 0 && runLength[n - 1] < runLength[n + 1]) {
+                    n--;
+                }
+            } else if ((n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1])
+                    || (n > 1 && runLength[n - 2] <= runLength[n] + runLength[n - 1])) {
+                if (runLength[n - 1] < runLength[n + 1]) {
+                    n--;
+                }
+            } else if (runLength[n] > runLength[n + 1]) {
+                break;
+            }
+
+            mergeRuns(arr, runBase[n], runLength[n], runBase[n + 1], runLength[n + 1], buffer);
+            runLength[n] += runLength[n + 1];
+            if (n == stackSize - 3) {
+                runBase[n + 1] = runBase[n + 2];
+                runLength[n + 1] = runLength[n + 2];
+            }
+            stackSize--;
+        }
+        return stackSize;
+    }
+
+    /**
+     * @function mergeRuns
+     * @description Merges two adjacent sorted runs. Elements of the first run
+     *              that are already in place and elements of the second run that
+     *              are already in place are skipped with galloping searches
+     *              before anything is copied.
+     * @param arr    int[] - Array containing the runs
+     * @param base1  int - Start of the first run
+     * @param len1   int - Length of the first run
+     * @param base2  int - Start of the second run (base1 + len1)
+     * @param len2   int - Length of the second run
+     * @param buffer int[][] - Holder for the reusable merge buffer
+     * @returns void
+     */
+    private static void mergeRuns(int[] arr, int base1, int len1, int base2, int len2, int[][] buffer) {
+        // Leading elements of run 1 not greater than run 2's first element stay put
+        int skip = upperBound(arr, base1, len1, arr[base2], false);
+        base1 += skip;
+        len1 -= skip;
+        if (len1 == 0) {
+            return;
+        }
+
+        // Trailing elements of run 2 not less than run 1's last element stay put
+        len2 = lowerBound(arr, base2, len2, arr[base1 + len1 - 1], true);
+        if (len2 == 0) {
+            return;
+        }
+
+        int[] tmp = buffer[0];
+        if (tmp == null || tmp.length < len1) {
+            tmp = new int[Math.max(len1, tmp == null ? 0 : Math.min(arr.length, tmp.length * 2))];
+            buffer[0] = tmp;
+        }
+        System.arraycopy(arr, base1, tmp, 0, len1);
+
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int end2 = base2 + len2;
+        int dest = base1;
+        int wins1 = 0;
+        int wins2 = 0;
+
+        while (cursor1 < len1 && cursor2 < end2) {
+            if (wins1 >= MIN_GALLOP) {
+                // Copy every remaining run 1 element not greater than run 2's head
+                int count = upperBound(tmp, cursor1, len1 - cursor1, arr[cursor2], false);
+                System.arraycopy(tmp, cursor1, arr, dest, count);
+                cursor1 += count;
+                dest += count;
+                wins1 = 0;
+            } else if (wins2 >= MIN_GALLOP) {
+                // Move every remaining run 2 element less than run 1's head
+                int count = lowerBound(arr, cursor2, end2 - cursor2, tmp[cursor1], false);
+                System.arraycopy(arr, cursor2, arr, dest, count);
+                cursor2 += count;
+                dest += count;
+                wins2 = 0;
+            } else if (arr[cursor2] < tmp[cursor1]) {
+                arr[dest++] = arr[cursor2++];
+                wins2++;
+                wins1 = 0;
+            } else {
+                arr[dest++] = tmp[cursor1++];
+                wins1++;
+                wins2 = 0;
+            }
+        }
+
+        // Run 2 leftovers are already in place; run 1 leftovers come from tmp
+        System.arraycopy(tmp, cursor1, arr, dest, len1 - cursor1);
+    }
+
+    /**
+     * @function lowerBound
+     * @description Number of elements in the sorted range arr[base..base+len)
+     *              that are less than key, found by exponential search from the
+     *              chosen end followed by binary search
+     * @param arr       int[] - Array containing the range
+     * @param base      int - Start of the range
+     * @param len       int - Length of the range
+     * @param key       int - Value to locate
+     * @param fromRight boolean - Whether to start the search at the end
+     * @returns int - Insertion point before any elements equal to key
+     */
+    private static int lowerBound(int[] arr, int base, int len, int key, boolean fromRight) {
+        int low;
+        int high;
+        if (fromRight) {
+            int step = 1;
+            while (step <= len && arr[base + len - step] >= key) {
+                step <<= 1;
+            }
+            low = step <= len ? len - step + 1 : 0;
+            high = len - (step >>> 1);
+        } else {
+            int step = 1;
+            while (step <= len && arr[base + step - 1] < key) {
+                step <<= 1;
+            }
+            low = step >>> 1;
+            high = Math.min(step - 1, len);
+        }
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (arr[base + mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @function upperBound
+     * @description Number of elements in the sorted range arr[base..base+len)
+     *              that are less than or equal to key, using the same galloping
+     *              search as lowerBound
+     * @param arr       int[] - Array containing the range
+     * @param base      int - Start of the range
+     * @param len       int - Length of the range
+     * @param key       int - Value to locate
+     * @param fromRight boolean - Whether to start the search at the end
+     * @returns int - Insertion point after any elements equal to key
+     */
+    private static int upperBound(int[] arr, int base, int len, int key, boolean fromRight) {
+        int low;
+        int high;
+        if (fromRight) {
+            int step = 1;
+            while (step <= len && arr[base + len - step] > key) {
+                step <<= 1;
+            }
+            low = step <= len ? len - step + 1 : 0;
+            high = len - (step >>> 1);
+        } else {
+            int step = 1;
+            while (step <= len && arr[base + step - 1] <= key) {
+                step <<= 1;
+            }
+            low = step >>> 1;
+            high = Math.min(step - 1, len);
+        }
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (arr[base + mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @function countRunAndMakeAscending
+     * @description Length of the run starting at low. A strictly descending run
+     *              is reversed so that every run ends up ascending; strictness
+     *              keeps the sort stable.
+     * @param arr  int[] - Array to scan
+     * @param low  int - Start of the run
+     * @param high int - End of the array (exclusive)
+     * @returns int - Length of the run
+     */
+    private static int countRunAndMakeAscending(int[] arr, int low, int high) {
+        int runHigh = low + 1;
+        if (runHigh == high) {
+            return 1;
+        }
+
+        if (arr[runHigh++] < arr[low]) {
+            while (runHigh < high && arr[runHigh] < arr[runHigh - 1]) {
+                runHigh++;
+            }
+            for (int i = low, j = runHigh - 1; i < j; i++, j--) {
+                int temp = arr[i];
+                arr[i] = arr[j];
+                arr[j] = temp;
+            }
+        } else {
+            while (runHigh < high && arr[runHigh] >= arr[runHigh - 1]) {
+                runHigh++;
+            }
+        }
+        return runHigh - low;
+    }
+
+    /**
+     * @function binaryInsertionSort
+     * @description Binary insertion sort of arr[low..high) where arr[low..start)
+     *              is already sorted, as in insertion_sort.binaryInsertionSort
+     * @param arr   int[] - Array containing the range
+     * @param low   int - Start of the range
+     * @param high  int - End of the range (exclusive)
+     * @param start int - First element not yet known to be in order
+     * @returns void
+     */
+    private static void binaryInsertionSort(int[] arr, int low, int high, int start) {
+        for (int i = start; i < high; i++) {
+            int key = arr[i];
+            int pos = low + upperBound(arr, low, i - low, key, true);
+            System.arraycopy(arr, pos, arr, pos + 1, i - pos);
+            arr[pos] = key;
+        }
+    }
+
+    /**
+     * @function minRunLength
+     * @description Minimum run length for an array of size n, chosen so that the
+     *              number of runs is a power of two or slightly less
+     * @param n int - Array size
+     * @returns int - Minimum run length
+     */
+    private static int minRunLength(int n) {
+        int r = 0;
+        while (n >= MIN_MERGE) {
+            r |= n & 1;
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    /**
+     * @class ExternalSortConfig
+     * @description Settings for externalSort. The memory budget covers the run
+     *              buffer plus the key arrays used to sort it during run
+     *              generation, and all merge input/output buffers during the
+     *              merge phase.
+     */
+    public static final class ExternalSortConfig {
+        final long memoryBudgetBytes;
+        final long runSizeBytes;
+        final int mergeFanIn;
+        final Path tempDirectory;
+
+        /**
+         * @param memoryBudgetBytes long - Upper bound on buffer memory in bytes
+         * @param runSizeBytes      long - Bytes of input sorted in memory per run
+         * @param mergeFanIn        int - Maximum number of runs merged at once
+         * @param tempDirectory     Path - Directory for spilled runs
+         */
+        public ExternalSortConfig(long memoryBudgetBytes, long runSizeBytes, int mergeFanIn, Path tempDirectory) {
+            if (memoryBudgetBytes <= 0 || runSizeBytes <= 0) {
+                throw new IllegalArgumentException("Memory budget and run size must be positive");
+            }
+            if (mergeFanIn < 2) {
+                throw new IllegalArgumentException("Merge fan-in must be at least 2: " + mergeFanIn);
+            }
+            this.memoryBudgetBytes = memoryBudgetBytes;
+            this.runSizeBytes = runSizeBytes;
+            this.mergeFanIn = mergeFanIn;
+            this.tempDirectory = tempDirectory;
+        }
+    }
+
+    /**
+     * @function externalSort
+     * @description Sorts a file of fixed-width records that may be larger than
+     *              the heap. Every record starts with a big-endian signed long
+     *              key followed by an opaque payload. Runs are read through a
+     *              direct buffer, sorted in memory with a stable merge sort,
+     *              spilled to temporary files and then combined with a k-way
+     *              heap merge, in several passes if there are more runs than
+     *              the configured fan-in. Records with equal keys keep their
+     *              input order.
+     * @param input      Path - File to be sorted
+     * @param output     Path - File receiving the sorted records (replaced)
+     * @param recordSize int - Size of one record in bytes, at least 8
+     * @param config     ExternalSortConfig - Memory, run size and fan-in settings
+     * @returns void
+     * @throws IOException - If reading or writing a file fails
+     */
+    public static void externalSort(Path input, Path output, int recordSize, ExternalSortConfig config)
+            throws IOException {
+        if (recordSize < KEY_SIZE) {
+            throw new IllegalArgumentException("Record size must be at least " + KEY_SIZE + ": " + recordSize);
+        }
+        long fileSize = Files.size(input);
+        if (fileSize % recordSize != 0) {
+            throw new IllegalArgumentException("File size " + fileSize + " is not a multiple of record size "
+                    + recordSize);
+        }
+
+        long runRecords = Math.min(config.runSizeBytes / recordSize, Integer.MAX_VALUE / recordSize);
+        if (runRecords == 0 || runRecords * (recordSize + SORT_BYTES_PER_RECORD) > config.memoryBudgetBytes) {
+            throw new IllegalArgumentException("Run size does not fit in the memory budget");
+        }
+        if ((long) (config.mergeFanIn + 1) * recordSize > config.memoryBudgetBytes) {
+            throw new IllegalArgumentException("Memory budget too small for merge fan-in " + config.mergeFanIn);
+        }
+
+        List<Path> runs = new ArrayList<>();
+        try {
+            createRuns(input, recordSize, (int) runRecords, config, runs);
+
+            // Merge groups of runs until one pass can produce the output
+            while (runs.size() > config.mergeFanIn) {
+                List<Path> merged = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += config.mergeFanIn) {
+                    List<Path> group = runs.subList(i, Math.min(i + config.mergeFanIn, runs.size()));
+                    Path run = Files.createTempFile(config.tempDirectory, "merge_sort_run", ".tmp");
+                    merged.add(run);
+                    mergeFileRuns(group, run, recordSize, config.memoryBudgetBytes);
+                    for (Path done : group) {
+                        Files.deleteIfExists(done);
+                    }
+                }
+                runs = merged;
+            }
+
+            if (runs.size() == 1) {
+                Files.move(runs.get(0), output, StandardCopyOption.REPLACE_EXISTING);
+                runs.clear();
+            } else {
+                mergeFileRuns(runs, output, recordSize, config.memoryBudgetBytes);
+            }
+        } finally {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    /**
+     * @function createRuns
+     * @description Splits the input into runs of at most runRecords records,
+     *              sorts each run in memory and spills it to a temporary file
+     * @param input      Path - File to be sorted
+     * @param recordSize int - Size of one record in bytes
+     * @param runRecords int - Maximum number of records per run
+     * @param config     ExternalSortConfig - Sort settings
+     * @param runs       List - Receives the paths of the spilled runs
+     * @returns void
+     * @throws IOException - If reading or writing a file fails
+     */
+    private static void createRuns(Path input, int recordSize, int runRecords, ExternalSortConfig config,
+            List<Path> runs) throws IOException {
+        ByteBuffer runBuffer = ByteBuffer.allocateDirect(runRecords * recordSize);
+        ByteBuffer outBuffer = ByteBuffer.allocateDirect(ioBufferSize(recordSize, config.memoryBudgetBytes / 16));
+        long[] keys = new long[runRecords];
+        int[] order = new int[runRecords];
+        long[] keysAux = new long[runRecords];
+        int[] orderAux = new int[runRecords];
+        byte[] record = new byte[recordSize];
+
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+            while (true) {
+                runBuffer.clear();
+                readFully(in, runBuffer);
+                runBuffer.flip();
+                int count = runBuffer.limit() / recordSize;
+                if (count == 0) {
+                    break;
+                }
+
+                for (int i = 0; i < count; i++) {
+                    keys[i] = runBuffer.getLong(i * recordSize);
+                    order[i] = i;
+                }
+                System.arraycopy(keys, 0, keysAux, 0, count);
+                System.arraycopy(order, 0, orderAux, 0, count);
+                sortPairsInto(keysAux, orderAux, keys, order, 0, count);
+
+                Path run = Files.createTempFile(config.tempDirectory, "merge_sort_run", ".tmp");
+                runs.add(run);
+                try (FileChannel out = FileChannel.open(run, StandardOpenOption.WRITE)) {
+                    outBuffer.clear();
+                    for (int i = 0; i < count; i++) {
+                        runBuffer.position(order[i] * recordSize);
+                        runBuffer.get(record);
+                        if (outBuffer.remaining() < recordSize) {
+                            outBuffer.flip();
+                            writeFully(out, outBuffer);
+                            outBuffer.clear();
+                        }
+                        outBuffer.put(record);
+                    }
+                    outBuffer.flip();
+                    writeFully(out, outBuffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * @function mergeFileRuns
+     * @description K-way merge of sorted run files using a min-heap of run
+     *              readers ordered by (current key, run index)
+     * @param runs         List - Sorted run files, in input order
+     * @param output       Path - File receiving the merged records (replaced)
+     * @param recordSize   int - Size of one record in bytes
+     * @param memoryBudget long - Bytes available for all merge buffers
+     * @returns void
+     * @throws IOException - If reading or writing a file fails
+     */
+    private static void mergeFileRuns(List<Path> runs, Path output, int recordSize, long memoryBudget)
+            throws IOException {
+        int k = runs.size();
+        int bufferSize = ioBufferSize(recordSize, memoryBudget / (k + 1));
+        RunReader[] readers = new RunReader[k];
+        int[] heap = new int[k];
+        int heapSize = 0;
+        byte[] record = new byte[recordSize];
+
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int i = 0; i < k; i++) {
+                readers[i] = new RunReader(runs.get(i), bufferSize);
+                if (readers[i].hasRecord()) {
+                    heap[heapSize++] = i;
+                }
+            }
+            for (int i = heapSize / 2 - 1; i >= 0; i--) {
+                siftDownRuns(heap, heapSize, i, readers);
+            }
+
+            ByteBuffer outBuffer = ByteBuffer.allocateDirect(bufferSize);
+            while (heapSize > 0) {
+                RunReader smallest = readers[heap[0]];
+                smallest.buffer.get(record);
+                if (outBuffer.remaining() < recordSize) {
+                    outBuffer.flip();
+                    writeFully(out, outBuffer);
+                    outBuffer.clear();
+                }
+                outBuffer.put(record);
+
+                // Drop exhausted runs, otherwise restore heap order for the new key
+                if (!smallest.hasRecord()) {
+                    heap[0] = heap[--heapSize];
+                }
+                siftDownRuns(heap, heapSize, 0, readers);
+            }
+            outBuffer.flip();
+            writeFully(out, outBuffer);
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) {
+                    reader.channel.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * @function siftDownRuns
+     * @description Iterative min-heap sift over run indices, mirroring
+     *              heap_sort.heapifyMin; ties are broken by run index so the
+     *              merge is stable
+     * @param heap    int[] - Heap of run indices
+     * @param n       int - Size of heap
+     * @param i       int - Index of the node to sift
+     * @param readers RunReader[] - Readers providing the current keys
+     * @returns void
+     */
+    private static void siftDownRuns(int[] heap, int n, int i, RunReader[] readers) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = 2 * i + 2;
+
+            if (left < n && runBefore(readers, heap[left], heap[smallest])) {
+                smallest = left;
+            }
+            if (right < n && runBefore(readers, heap[right], heap[smallest])) {
+                smallest = right;
+            }
+            if (smallest == i) {
+                return;
+            }
+
+            int temp = heap[i];
+            heap[i] = heap[smallest];
+            heap[smallest] = temp;
+            i = smallest;
+        }
+    }
+
+    /**
+     * @function runBefore
+     * @description Whether run a's current record comes before run b's
+     * @param readers RunReader[] - Run readers
+     * @param a       int - First run index
+     * @param b       int - Second run index
+     * @returns boolean - True if run a should be emitted first
+     */
+    private static boolean runBefore(RunReader[] readers, int a, int b) {
+        long keyA = readers[a].key();
+        long keyB = readers[b].key();
+        return keyA < keyB || (keyA == keyB && a < b);
+    }
+
+    /**
+     * @class RunReader
+     * @description Buffered sequential reader over one sorted run file
+     */
+    private static final class RunReader {
+        final FileChannel channel;
+        final ByteBuffer buffer;
+
+        RunReader(Path run, int bufferSize) throws IOException {
+            this.channel = FileChannel.open(run, StandardOpenOption.READ);
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+            this.buffer.flip();
+        }
+
+        /**
+         * Refills the buffer if needed; returns false once the run is exhausted
+         */
+        boolean hasRecord() throws IOException {
+            if (buffer.hasRemaining()) {
+                return true;
+            }
+            buffer.clear();
+            readFully(channel, buffer);
+            buffer.flip();
+            return buffer.hasRemaining();
+        }
+
+        long key() {
+            return buffer.getLong(buffer.position());
+        }
+    }
+
+    /**
+     * @function ioBufferSize
+     * @description Largest whole number of records fitting in the given bytes,
+     *              at least one record
+     * @param recordSize int - Size of one record in bytes
+     * @param bytes      long - Bytes available for the buffer
+     * @returns int - Buffer size in bytes
+     */
+    private static int ioBufferSize(int recordSize, long bytes) {
+        long records = Math.max(1, Math.min(bytes, Integer.MAX_VALUE) / recordSize);
+        return (int) (records * recordSize);
+    }
+
+    /**
+     * @function readFully
+     * @description Reads from the channel until the buffer is full or the end of
+     *              the file is reached
+     * @param channel FileChannel - Channel to read from
+     * @param buffer  ByteBuffer - Buffer to fill
+     * @returns void
+     * @throws IOException - If reading fails
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // Keep reading until the buffer is full or the file ends
+        }
+    }
+
+    /**
+     * @function writeFully
+     * @description Writes all remaining bytes of the buffer to the channel
+     * @param channel FileChannel - Channel to write to
+     * @param buffer  ByteBuffer - Buffer to drain
+     * @returns void
+     * @throws IOException - If writing fails
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * @function sortPairsInto
+     * @description Stable merge sort of (key, index) pairs using the same
+     *              ping-pong scheme as sortInto: on entry both array pairs hold
+     *              the same values in [low, high) and the result ends up in the
+     *              destination pair
+     * @param srcKeys  long[] - Scratch keys
+     * @param srcIndex int[] - Scratch indices
+     * @param dstKeys  long[] - Keys receiving the sorted range
+     * @param dstIndex int[] - Indices receiving the sorted range
+     * @param low      int - Starting index (inclusive)
+     * @param high     int - Ending index (exclusive)
+     * @returns void
+     */
+    private static void sortPairsInto(long[] srcKeys, int[] srcIndex, long[] dstKeys, int[] dstIndex, int low,
+            int high) {
+        if (high - low <= INSERTION_SORT_THRESHOLD) {
+            for (int i = low + 1; i < high; i++) {
+                long key = dstKeys[i];
+                int index = dstIndex[i];
+                int j = i - 1;
+
+                while (j >= low && dstKeys[j] > key) {
+                    dstKeys[j + 1] = dstKeys[j];
+                    dstIndex[j + 1] = dstIndex[j];
+                    j--;
+                }
+                dstKeys[j + 1] = key;
+                dstIndex[j + 1] = index;
+            }
+            return;
+        }
+
+        int mid = (low + high) >>> 1;
+        sortPairsInto(dstKeys, dstIndex, srcKeys, srcIndex, low, mid);
+        sortPairsInto(dstKeys, dstIndex, srcKeys, srcIndex, mid, high);
+
+        int i = low, j = mid, k = low;
+        while (i < mid && j < high) {
+            if (srcKeys[i] <= srcKeys[j]) {
+                dstKeys[k] = srcKeys[i];
+                dstIndex[k++] = srcIndex[i++];
+            } else {
+                dstKeys[k] = srcKeys[j];
+                dstIndex[k++] = srcIndex[j++];
+            }
+        }
+        System.arraycopy(srcKeys, i, dstKeys, k, mid - i);
+        System.arraycopy(srcIndex, i, dstIndex, k, mid - i);
+        k += mid - i;
+        System.arraycopy(srcKeys, j, dstKeys, k, high - j);
+        System.arraycopy(srcIndex, j, dstIndex, k, high - j);
+    }
+
+    /**
+     * @function sort
+     * @description Sorter entry point, using the adaptive natural-run merge sort
+     * @param arr int[] - Array to be sorted
+     * @returns void - Sorts the array in place
+     */
+    @Override
+    public void sort(int[] arr) {
+        if (arr == null || arr.length <= 1) {
+            return;
+        }
+        adaptiveMergeSort(arr);
+    }
+
     /**
      * @function printArray
      * @description Prints the elements of an array
@@ -189,6 +1304,140 @@ public class merge_sort {
         mergeSortIterative(arr5);
         System.out.println("Sorted array: " + Arrays.toString(arr5));
         System.out.println();
+
+        // Test case 6: Parallel Merge Sort
+        int[] arr6 = new int[100_000];
+        for (int i = 0; i < arr6.length; i++) {
+            arr6[i] = (int) (Math.random() * 1_000_000) - 500_000;
+        }
+        int[] expected6 = arr6.clone();
+        Arrays.sort(expected6);
+        mergeSortParallel(arr6, Runtime.getRuntime().availableProcessors());
+        System.out.println("Testing Parallel Merge Sort on " + arr6.length + " elements:");
+        System.out.println("Matches Arrays.sort: " + Arrays.equals(arr6, expected6));
+        System.out.println();
+
+        // Test case 7: Adaptive merge sort on nearly sorted input
+        int[] arr7 = new int[100_000];
+        for (int i = 0; i < arr7.length; i++) {
+            arr7[i] = i;
+        }
+        for (int i = 0; i < 100; i++) {
+            arr7[(int) (Math.random() * arr7.length)] = (int) (Math.random() * arr7.length);
+        }
+        int[] expected7 = arr7.clone();
+        Arrays.sort(expected7);
+        adaptiveMergeSort(arr7);
+        System.out.println("Testing Adaptive Merge Sort on nearly sorted input:");
+        System.out.println("Matches Arrays.sort: " + Arrays.equals(arr7, expected7));
+        System.out.println();
+
+        // Test case 8: External merge sort of a file with several runs
+        testExternalSort();
+        testOffHeapSort();
+    }
+
+    /**
+     * @function testOffHeapSort
+     * @description Sorts a memory-mapped file of longs in place with
+     *              mergeSortOffHeap
+     * @returns void
+     */
+    private static void testOffHeapSort() {
+        int count = 200_000;
+        Path file = null;
+
+        try {
+            file = Files.createTempFile("merge_sort_mapped", ".bin");
+            ByteBuffer values = ByteBuffer.allocate(count * Long.BYTES).order(java.nio.ByteOrder.nativeOrder());
+            java.util.Random random = new java.util.Random(3);
+            for (int i = 0; i < count; i++) {
+                values.putLong(random.nextLong());
+            }
+            Files.write(file, values.array());
+
+            off_heap_array data = off_heap_array.map(file, Long.BYTES);
+            off_heap_array scratch = off_heap_array.allocate(data.length(), Long.BYTES);
+            mergeSortOffHeap(data, scratch, Runtime.getRuntime().availableProcessors());
+            data.force();
+
+            boolean ordered = true;
+            for (long i = 1; i < data.length(); i++) {
+                ordered &= data.get(i - 1) <= data.get(i);
+            }
+            System.out.println("Testing Off-Heap Merge Sort on a mapped file of " + count + " longs:");
+            System.out.println("Sorted in place: " + ordered);
+            System.out.println();
+        } catch (IOException e) {
+            System.out.println("Off-heap sort failed: " + e.getMessage());
+        } finally {
+            try {
+                if (file != null) {
+                    Files.deleteIfExists(file);
+                }
+            } catch (IOException ignored) {
+                // Temporary files are cleaned up by the OS eventually
+            }
+        }
+    }
+
+    /**
+     * @function testExternalSort
+     * @description Sorts a temporary file of 16-byte records (key, original
+     *              position) with a small memory budget so that several runs
+     *              and merge passes are needed
+     * @returns void
+     */
+    private static void testExternalSort() {
+        int records = 50_000;
+        int recordSize = 16;
+        Path input = null;
+        Path output = null;
+
+        try {
+            input = Files.createTempFile("merge_sort_input", ".bin");
+            output = Files.createTempFile("merge_sort_output", ".bin");
+
+            ByteBuffer data = ByteBuffer.allocate(records * recordSize);
+            for (int i = 0; i < records; i++) {
+                data.putLong((long) (Math.random() * 1000) - 500);
+                data.putLong(i);
+            }
+            Files.write(input, data.array());
+
+            // 4,000-record runs and a fan-in of 3 give 13 runs and two merge passes
+            ExternalSortConfig config = new ExternalSortConfig(1 << 20, 4_000 * recordSize, 3,
+                    input.getParent());
+            externalSort(input, output, recordSize, config);
+
+            ByteBuffer sorted = ByteBuffer.wrap(Files.readAllBytes(output));
+            boolean ordered = sorted.limit() == records * recordSize;
+            long previousKey = Long.MIN_VALUE;
+            long previousPosition = -1;
+            while (ordered && sorted.hasRemaining()) {
+                long key = sorted.getLong();
+                long position = sorted.getLong();
+                ordered = key > previousKey || (key == previousKey && position > previousPosition);
+                previousKey = key;
+                previousPosition = position;
+            }
+            System.out.println("Testing External Merge Sort on " + records + " records:");
+            System.out.println("Sorted and stable: " + ordered);
+            System.out.println();
+        } catch (IOException e) {
+            System.out.println("External sort failed: " + e.getMessage());
+        } finally {
+            try {
+                if (input != null) {
+                    Files.deleteIfExists(input);
+                }
+                if (output != null) {
+                    Files.deleteIfExists(output);
+                }
+            } catch (IOException ignored) {
+                // Temporary files are cleaned up by the OS eventually
+            }
+        }
     }
 
     /**
@@ -215,6 +1464,53 @@ public class merge_sort {
             double duration = (endTime - startTime) / 1_000_000.0; // Convert to milliseconds
             System.out.printf("Array size %d: %.2f ms%n", size, duration);
         }
+
+        // Compare sequential and parallel merge sort on a large array
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int[] large = new int[2_000_000];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = (int) (Math.random() * Integer.MAX_VALUE);
+        }
+        int[] copy = large.clone();
+
+        long startTime = System.nanoTime();
+        mergeSort(large);
+        long sequentialTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        mergeSortParallel(copy, parallelism);
+        long parallelTime = System.nanoTime() - startTime;
+
+        System.out.printf("Array size %d: sequential %.2f ms, parallel (%d threads) %.2f ms%n",
+                large.length, sequentialTime / 1_000_000.0, parallelism, parallelTime / 1_000_000.0);
+
+        // Adaptive merge sort against iterative merge sort on random and nearly sorted input
+        int[] random = new int[1_000_000];
+        int[] nearlySorted = new int[random.length];
+        for (int i = 0; i < random.length; i++) {
+            random[i] = (int) (Math.random() * Integer.MAX_VALUE);
+            nearlySorted[i] = i;
+        }
+        for (int i = 0; i < 1000; i++) {
+            nearlySorted[(int) (Math.random() * nearlySorted.length)] = (int) (Math.random() * nearlySorted.length);
+        }
+
+        for (int[] input : new int[][] { random, nearlySorted }) {
+            int[] iterativeCopy = input.clone();
+            int[] adaptiveCopy = input.clone();
+
+            startTime = System.nanoTime();
+            mergeSortIterative(iterativeCopy);
+            long iterativeTime = System.nanoTime() - startTime;
+
+            startTime = System.nanoTime();
+            adaptiveMergeSort(adaptiveCopy);
+            long adaptiveTime = System.nanoTime() - startTime;
+
+            System.out.printf("%s array size %d: iterative %.2f ms, adaptive %.2f ms%n",
+                    input == random ? "Random" : "Nearly sorted", input.length,
+                    iterativeTime / 1_000_000.0, adaptiveTime / 1_000_000.0);
+        }
     }
 
     /**
@@ -0,0 +1,223 @@
+
+/**
+ * @file off_heap_array.java
+ * @description Long-indexed int or long array stored outside the Java heap
+ * @author Algorithm Collection
+ * @version 1.0
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * @class OffHeapArray
+ * @description Array of int or long elements held in direct or memory-mapped
+ *              byte buffers, indexed by long so it can exceed 2^31 elements and
+ *              the heap. The buffers are split into segments of at most
+ *              SEGMENT_BYTES because a single buffer is limited to 2 GB.
+ *              Elements use the platform's native byte order. radix_sort and
+ *              merge_sort sort these in place without copying the data onto the
+ *              heap.
+ */
+public final class off_heap_array {
+
+    // Size of one buffer segment; a power of two and a multiple of both widths
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_BYTES = 1L << SEGMENT_SHIFT;
+
+    private final ByteBuffer[] segments;
+    private final long length;
+    private final int elementSize;
+    private final int elementShift;
+
+    private off_heap_array(ByteBuffer[] segments, long length, int elementSize) {
+        this.segments = segments;
+        this.length = length;
+        this.elementSize = elementSize;
+        this.elementShift = elementSize == Long.BYTES ? 3 : 2;
+    }
+
+    /**
+     * @function allocate
+     * @description Allocates a zero-filled off-heap array
+     * @param length      long - Number of elements
+     * @param elementSize int - Bytes per element: Integer.BYTES or Long.BYTES
+     * @returns off_heap_array - The new array
+     */
+    public static off_heap_array allocate(long length, int elementSize) {
+        checkElementSize(elementSize);
+        if (length < 0) {
+            throw new IllegalArgumentException("Length must not be negative: " + length);
+        }
+
+        long bytes = length * elementSize;
+        ByteBuffer[] segments = new ByteBuffer[segmentCount(bytes)];
+        for (int s = 0; s < segments.length; s++) {
+            int size = (int) Math.min(SEGMENT_BYTES, bytes - ((long) s << SEGMENT_SHIFT));
+            segments[s] = ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+        }
+        return new off_heap_array(segments, length, elementSize);
+    }
+
+    /**
+     * @function map
+     * @description Maps a file of native-order elements read-write. Changes are
+     *              written back to the file; call force() to flush them.
+     * @param file        Path - File whose size is a multiple of elementSize
+     * @param elementSize int - Bytes per element: Integer.BYTES or Long.BYTES
+     * @returns off_heap_array - Array backed by the file
+     * @throws IOException - If the file cannot be opened or mapped
+     */
+    public static off_heap_array map(Path file, int elementSize) throws IOException {
+        checkElementSize(elementSize);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long bytes = channel.size();
+            if (bytes % elementSize != 0) {
+                throw new IllegalArgumentException("File size " + bytes + " is not a multiple of " + elementSize);
+            }
+
+            // The mappings stay valid after the channel is closed
+            ByteBuffer[] segments = new ByteBuffer[segmentCount(bytes)];
+            for (int s = 0; s < segments.length; s++) {
+                long offset = (long) s << SEGMENT_SHIFT;
+                segments[s] = channel.map(FileChannel.MapMode.READ_WRITE, offset,
+                        Math.min(SEGMENT_BYTES, bytes - offset)).order(ByteOrder.nativeOrder());
+            }
+            return new off_heap_array(segments, bytes / elementSize, elementSize);
+        }
+    }
+
+    /**
+     * @function mapTemporary
+     * @description Creates a temporary file of the given size and maps it; the
+     *              file is deleted when the JVM exits. Useful as sort scratch
+     *              space for mapped data larger than memory.
+     * @param directory   Path - Directory for the file
+     * @param length      long - Number of elements
+     * @param elementSize int - Bytes per element
+     * @returns off_heap_array - Array backed by the temporary file
+     * @throws IOException - If the file cannot be created or mapped
+     */
+    public static off_heap_array mapTemporary(Path directory, long length, int elementSize) throws IOException {
+        checkElementSize(elementSize);
+        Path file = Files.createTempFile(directory, "off_heap_", ".bin");
+        file.toFile().deleteOnExit();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            if (length > 0) {
+                channel.write(ByteBuffer.allocate(1), length * elementSize - 1);
+            }
+        }
+        return map(file, elementSize);
+    }
+
+    /**
+     * @function length
+     * @description Number of elements
+     * @returns long - Element count
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * @function elementSize
+     * @description Bytes per element
+     * @returns int - Integer.BYTES or Long.BYTES
+     */
+    public int elementSize() {
+        return elementSize;
+    }
+
+    /**
+     * @function get
+     * @description Reads an element; int elements are sign-extended
+     * @param index long - Element index
+     * @returns long - Element value
+     */
+    public long get(long index) {
+        long position = index << elementShift;
+        ByteBuffer segment = segments[(int) (position >>> SEGMENT_SHIFT)];
+        int offset = (int) (position & (SEGMENT_BYTES - 1));
+        return elementSize == Long.BYTES ? segment.getLong(offset) : segment.getInt(offset);
+    }
+
+    /**
+     * @function set
+     * @description Writes an element; int elements keep the low 32 bits
+     * @param index long - Element index
+     * @param value long - Element value
+     * @returns void
+     */
+    public void set(long index, long value) {
+        long position = index << elementShift;
+        ByteBuffer segment = segments[(int) (position >>> SEGMENT_SHIFT)];
+        int offset = (int) (position & (SEGMENT_BYTES - 1));
+        if (elementSize == Long.BYTES) {
+            segment.putLong(offset, value);
+        } else {
+            segment.putInt(offset, (int) value);
+        }
+    }
+
+    /**
+     * @function force
+     * @description Flushes changes to mapped files; no effect on direct memory
+     * @returns void
+     */
+    public void force() {
+        for (ByteBuffer segment : segments) {
+            if (segment instanceof MappedByteBuffer) {
+                ((MappedByteBuffer) segment).force();
+            }
+        }
+    }
+
+    /**
+     * @function checkElementSize
+     * @description Rejects element sizes other than int and long
+     * @param elementSize int - Bytes per element
+     * @returns void
+     */
+    private static void checkElementSize(int elementSize) {
+        if (elementSize != Integer.BYTES && elementSize != Long.BYTES) {
+            throw new IllegalArgumentException("Element size must be 4 or 8: " + elementSize);
+        }
+    }
+
+    /**
+     * @function segmentCount
+     * @description Number of segments needed for a byte size
+     * @param bytes long - Total bytes
+     * @returns int - Segment count
+     */
+    private static int segmentCount(long bytes) {
+        return (int) ((bytes + SEGMENT_BYTES - 1) >>> SEGMENT_SHIFT);
+    }
+
+    /**
+     * @function main
+     * @description Small demonstration of allocation and long indexing
+     * @param args String[] - Command line arguments
+     * @returns void
+     */
+    public static void main(String[] args) {
+        off_heap_array longs = allocate(1_000, Long.BYTES);
+        for (long i = 0; i < longs.length(); i++) {
+            longs.set(i, -i * 1_000_000_007L);
+        }
+        off_heap_array ints = allocate(1_000, Integer.BYTES);
+        ints.set(999, Integer.MIN_VALUE);
+
+        System.out.println("Off-Heap Array");
+        System.out.println("==============");
+        System.out.println("longs[999] = " + longs.get(999) + ", ints[999] = " + ints.get(999)
+                + ", ints[0] = " + ints.get(0));
+        System.out.println("See radix_sort and merge_sort for sorting these in place.");
+    }
+}
@@ -0,0 +1,188 @@
+
+/**
+ * @file parallel_chunks.java
+ * @description Chunked fork/join helpers shared by the parallel sorts
+ * @author Algorithm Collection
+ * @version 1.0
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * @class ParallelChunks
+ * @description Splits an index range into contiguous chunks and runs one task
+ *              per chunk in a ForkJoinPool, or on the calling thread when no
+ *              pool is given. Also holds the stable count, prefix and scatter
+ *              passes that bucket_sort and sample_sort use to distribute
+ *              elements into buckets.
+ */
+final class parallel_chunks {
+
+    private parallel_chunks() {
+    }
+
+    /**
+     * @interface Move
+     * @description Copies the element at one index of the input to a slot of
+     *              the output
+     */
+    @FunctionalInterface
+    interface Move {
+        void move(int from, int to);
+    }
+
+    /**
+     * @function chunkStart
+     * @description Starting index of a chunk when n items are split evenly
+     * @param n      int - Number of items
+     * @param chunks int - Number of chunks
+     * @param chunk  int - Chunk index (chunks gives the end of the last chunk)
+     * @returns int - Starting index of the chunk
+     */
+    static int chunkStart(int n, int chunks, int chunk) {
+        return (int) ((long) n * chunk / chunks);
+    }
+
+    /**
+     * @function chunkStart
+     * @description Starting index of a chunk when n elements of an off-heap
+     *              array are split evenly
+     * @param n      long - Number of elements
+     * @param chunks int - Number of chunks
+     * @param chunk  int - Chunk index (chunks gives the end of the last chunk)
+     * @returns long - Starting index of the chunk
+     */
+    static long chunkStart(long n, int chunks, int chunk) {
+        return n / chunks * chunk + Math.min(chunk, n % chunks);
+    }
+
+    /**
+     * @function runChunks
+     * @description Runs body for every chunk index, in the pool when one is given
+     *              and on the calling thread otherwise
+     * @param pool   ForkJoinPool - Pool to run in, or null
+     * @param chunks int - Number of chunks
+     * @param body   IntConsumer - Work for one chunk
+     * @returns void
+     */
+    static void runChunks(ForkJoinPool pool, int chunks, IntConsumer body) {
+        if (pool == null) {
+            for (int c = 0; c < chunks; c++) {
+                body.accept(c);
+            }
+            return;
+        }
+        pool.invoke(new ChunkTask(body, 0, chunks));
+    }
+
+    /**
+     * @function scatterByBucket
+     * @description Stable distribution of n elements into buckets. Each chunk
+     *              classifies and counts its elements, the counts become
+     *              per-chunk write positions bucket by bucket, and each chunk
+     *              then moves its elements to those positions, so equal buckets
+     *              keep their input order.
+     * @param pool        ForkJoinPool - Pool to run in, or null
+     * @param chunks      int - Number of chunks
+     * @param n           int - Number of elements
+     * @param bucketCount int - Number of buckets
+     * @param bucket      IntUnaryOperator - Bucket of the element at an index
+     * @param move        Move - Copies an element to its output slot
+     * @returns int[] - Start of every bucket in the output, followed by n
+     */
+    static int[] scatterByBucket(ForkJoinPool pool, int chunks, int n, int bucketCount, IntUnaryOperator bucket,
+            Move move) {
+        int[] bucketOf = new int[n];
+        int[][] counts = new int[chunks][bucketCount];
+
+        // Classification pass: per-chunk bucket sizes
+        runChunks(pool, chunks, c -> {
+            int[] count = counts[c];
+            for (int i = chunkStart(n, chunks, c), end = chunkStart(n, chunks, c + 1); i < end; i++) {
+                int b = bucket.applyAsInt(i);
+                bucketOf[i] = b;
+                count[b]++;
+            }
+        });
+
+        // Turn counts into per-chunk write positions, bucket by bucket
+        int[] bucketStart = new int[bucketCount + 1];
+        int position = 0;
+        for (int b = 0; b < bucketCount; b++) {
+            bucketStart[b] = position;
+            for (int[] count : counts) {
+                int size = count[b];
+                count[b] = position;
+                position += size;
+            }
+        }
+        bucketStart[bucketCount] = n;
+
+        runChunks(pool, chunks, c -> {
+            int[] next = counts[c];
+            for (int i = chunkStart(n, chunks, c), end = chunkStart(n, chunks, c + 1); i < end; i++) {
+                move.move(i, next[bucketOf[i]]++);
+            }
+        });
+        return bucketStart;
+    }
+
+    /**
+     * @class ChunkTask
+     * @description Fork/join task running a body over the chunk indices [from, to)
+     */
+    private static final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final IntConsumer body;
+        private final int from;
+        private final int to;
+
+        ChunkTask(IntConsumer body, int from, int to) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkTask(body, from, mid), new ChunkTask(body, mid, to));
+        }
+    }
+
+    /**
+     * @function main
+     * @description Scatters a small array by last digit with one and with four
+     *              chunks and checks that both give the same stable order
+     * @param args String[] - Command line arguments
+     * @returns void
+     */
+    public static void main(String[] args) {
+        int[] input = { 42, 17, 3, 90, 11, 7, 23, 60, 5, 31, 88, 13 };
+        System.out.println("Input:             " + Arrays.toString(input));
+
+        int[] serial = new int[input.length];
+        int[] bucketStart = scatterByBucket(null, 1, input.length, 10, i -> input[i] % 10,
+                (from, to) -> serial[to] = input[from]);
+        System.out.println("By last digit:     " + Arrays.toString(serial));
+        System.out.println("Bucket starts:     " + Arrays.toString(bucketStart));
+
+        int[] parallel = new int[input.length];
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            scatterByBucket(pool, 4, input.length, 10, i -> input[i] % 10, (from, to) -> parallel[to] = input[from]);
+        } finally {
+            pool.shutdown();
+        }
+        System.out.println("Four chunks match: " + Arrays.equals(serial, parallel));
+    }
+}
@@ -7,13 +7,19 @@
  */
 
 import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * @class QuickSort
  * @description Class containing Quick Sort algorithm implementation
  */
-public class quick_sort {
+public class quick_sort implements sorter {
+
+    // Ranges shorter than this are finished with a sorting network
+    private static final int NETWORK_SORT_THRESHOLD = 32;
 
     /**
      * @function quickSort
@@ -37,14 +43,17 @@ public class quick_sort {
      * @returns void
      */
     private static void quickSort(int[] arr, int low, int high) {
-        if (low < high) {
-            // Partition the array and get pivot index
-            int pivotIndex = partition(arr, low, high);
-
-            // Recursively sort elements before and after partition
-            quickSort(arr, low, pivotIndex - 1);
-            quickSort(arr, pivotIndex + 1, high);
+        if (high - low < NETWORK_SORT_THRESHOLD) {
+            sorting_network.sort(arr, low, high);
+            return;
         }
+
+        // Partition the array and get pivot index
+        int pivotIndex = partition(arr, low, high);
+
+        // Recursively sort elements before and after partition
+        quickSort(arr, low, pivotIndex - 1);
+        quickSort(arr, pivotIndex + 1, high);
     }
 
     /**
@@ -111,19 +120,448 @@ public class quick_sort {
      * @returns void
      */
     private static void randomizedQuickSort(int[] arr, int low, int high) {
-        if (low < high) {
-            // Randomly select pivot and swap with last element
-            Random random = new Random();
-            int randomIndex = low + random.nextInt(high - low + 1);
-            swap(arr, randomIndex, high);
+        if (high - low < NETWORK_SORT_THRESHOLD) {
+            sorting_network.sort(arr, low, high);
+            return;
+        }
+
+        // Randomly select pivot and swap with last element
+        Random random = new Random();
+        int randomIndex = low + random.nextInt(high - low + 1);
+        swap(arr, randomIndex, high);
+
+        // Partition the array
+        int pivotIndex = partition(arr, low, high);
+
+        // Recursively sort elements before and after partition
+        randomizedQuickSort(arr, low, pivotIndex - 1);
+        randomizedQuickSort(arr, pivotIndex + 1, high);
+    }
+
+    /**
+     * @function introSort
+     * @description Introspective quick sort with guaranteed O(n log n) worst case.
+     *              Uses dual-pivot partitioning (three-way when both pivots are
+     *              equal), switches to heap sort once the recursion depth exceeds
+     *              2 * log2(n), and finishes small ranges with
+     *              sorting_network.sort.
+     * @param arr int[] - Array to be sorted
+     * @returns void - Sorts the array in place
+     */
+    public static void introSort(int[] arr) {
+        if (arr == null || arr.length <= 1) {
+            return;
+        }
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(arr.length));
+        introSort(arr, 0, arr.length - 1, depthLimit);
+    }
+
+    /**
+     * @function introSort
+     * @description Recursive introsort implementation
+     * @param arr        int[] - Array to be sorted
+     * @param low        int - Starting index
+     * @param high       int - Ending index
+     * @param depthLimit int - Remaining partitioning depth before heap sort
+     * @returns void
+     */
+    private static void introSort(int[] arr, int low, int high, int depthLimit) {
+        if (high - low < NETWORK_SORT_THRESHOLD) {
+            sorting_network.sort(arr, low, high);
+            return;
+        }
+        if (depthLimit == 0) {
+            heapSort(arr, low, high);
+            return;
+        }
+        depthLimit--;
+
+        // Take the pivots from the tertiles rather than the ends of the range
+        int third = (high - low + 1) / 3;
+        swap(arr, low, low + third);
+        swap(arr, high, high - third);
+        if (arr[low] > arr[high]) {
+            swap(arr, low, high);
+        }
+
+        if (arr[low] == arr[high]) {
+            // Both pivots are equal, so group everything equal to it in the middle
+            int pivot = arr[low];
+            int lt = low, gt = high, i = low + 1;
+
+            while (i <= gt) {
+                if (arr[i] < pivot) {
+                    swap(arr, lt++, i++);
+                } else if (arr[i] > pivot) {
+                    swap(arr, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+
+            introSort(arr, low, lt - 1, depthLimit);
+            introSort(arr, gt + 1, high, depthLimit);
+            return;
+        }
+
+        int[] pivots = dualPivotPartition(arr, low, high);
+        introSort(arr, low, pivots[0] - 1, depthLimit);
+        introSort(arr, pivots[0] + 1, pivots[1] - 1, depthLimit);
+        introSort(arr, pivots[1] + 1, high, depthLimit);
+    }
+
+    /**
+     * @function dualPivotPartition
+     * @description Partitions arr[low..high] around the pivots arr[low] and
+     *              arr[high] (with arr[low] &lt;= arr[high]) into three parts:
+     *              less than the first pivot, between the pivots, and greater
+     *              than the second pivot
+     * @param arr  int[] - Array to be partitioned
+     * @param low  int - Starting index, holding the smaller pivot
+     * @param high int - Ending index, holding the larger pivot
+     * @returns int[] - Final positions of the two pivots
+     */
+    private static int[] dualPivotPartition(int[] arr, int low, int high) {
+        int p = arr[low];
+        int q = arr[high];
+
+        int lt = low + 1;
+        int gt = high - 1;
+        int k = lt;
+
+        while (k <= gt) {
+            if (arr[k] < p) {
+                swap(arr, k, lt++);
+            } else if (arr[k] > q) {
+                while (arr[gt] > q && k < gt) {
+                    gt--;
+                }
+                swap(arr, k, gt--);
+                if (arr[k] < p) {
+                    swap(arr, k, lt++);
+                }
+            }
+            k++;
+        }
+
+        // Move the pivots into their final positions
+        swap(arr, low, --lt);
+        swap(arr, high, ++gt);
+        return new int[] { lt, gt };
+    }
+
+    /**
+     * @function heapSort
+     * @description Heap sort on arr[low..high], used when introsort recursion
+     *              gets too deep
+     * @param arr  int[] - Array containing the range
+     * @param low  int - Starting index
+     * @param high int - Ending index
+     * @returns void
+     */
+    private static void heapSort(int[] arr, int low, int high) {
+        int n = high - low + 1;
+
+        // Build max heap over the range
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, low, n, i);
+        }
+
+        // Move the current maximum to the end and shrink the heap
+        for (int i = n - 1; i > 0; i--) {
+            swap(arr, low, low + i);
+            siftDown(arr, low, i, 0);
+        }
+    }
+
+    /**
+     * @function siftDown
+     * @description Restores the max-heap property for the heap stored at
+     *              arr[offset..offset+n) starting from node i
+     * @param arr    int[] - Array containing the heap
+     * @param offset int - Index of the heap root in arr
+     * @param n      int - Size of heap
+     * @param i      int - Index of the node to sift, relative to offset
+     * @returns void
+     */
+    private static void siftDown(int[] arr, int offset, int n, int i) {
+        int value = arr[offset + i];
+
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) {
+                break;
+            }
+            if (child + 1 < n && arr[offset + child + 1] > arr[offset + child]) {
+                child++;
+            }
+            if (arr[offset + child] <= value) {
+                break;
+            }
+            arr[offset + i] = arr[offset + child];
+            i = child;
+        }
+        arr[offset + i] = value;
+    }
+
+    /**
+     * @function sort
+     * @description Sorter entry point, using the introsort
+     * @param arr int[] - Array to be sorted
+     * @returns void - Sorts the array in place
+     */
+    @Override
+    public void sort(int[] arr) {
+        if (arr == null || arr.length <= 1) {
+            return;
+        }
+        introSort(arr);
+    }
+
+    /**
+     * @function sortedIterator
+     * @description Iterates over arr in ascending order, sorting only as much as
+     *              needed (incremental quicksort). Reading the first k values
+     *              costs expected O(n + k log k), so serving the first pages of a
+     *              large result is close to a single partitioning pass. The array
+     *              is reordered in place as iteration proceeds.
+     * @param arr int[] - Values to iterate over
+     * @returns SortedIntIterator - Iterator yielding the values in order
+     */
+    public static SortedIntIterator sortedIterator(int[] arr) {
+        return new SortedIntIterator(arr);
+    }
+
+    /**
+     * @function sortedIterator
+     * @description Incrementally sorted iterator over a long array
+     * @param arr long[] - Values to iterate over
+     * @returns SortedLongIterator - Iterator yielding the values in order
+     */
+    public static SortedLongIterator sortedIterator(long[] arr) {
+        return new SortedLongIterator(arr);
+    }
+
+    /**
+     * @class SortedIntIterator
+     * @description Incremental quicksort over an int array. arr[next..sortedEnd)
+     *              is known to be in final position. The stack holds the
+     *              partitions still to be sorted as pairs (start, end): each
+     *              pair is a run of values equal to an earlier pivot, already in
+     *              final position, and everything between the previous run and
+     *              start is unsorted. To reach the next value, the unsorted range
+     *              in front of the top run is partitioned around a random pivot
+     *              until the run starts at next, so later pages resume where the
+     *              last one stopped.
+     */
+    public static final class SortedIntIterator implements PrimitiveIterator.OfInt {
+        private final int[] arr;
+        private int next;
+        private int sortedEnd;
+        private int[] stack = new int[64];
+        private int size;
+
+        SortedIntIterator(int[] arr) {
+            this.arr = arr;
+            // Sentinel run at the end of the array
+            stack[size++] = arr.length;
+            stack[size++] = arr.length;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < arr.length;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (next == sortedEnd) {
+                advance();
+            }
+            return arr[next++];
+        }
+
+        /**
+         * @function nextPage
+         * @description Copies the next values in order into page
+         * @param page int[] - Buffer receiving up to page.length values
+         * @returns int - Number of values written, 0 when exhausted
+         */
+        public int nextPage(int[] page) {
+            int count = 0;
+            while (count < page.length && hasNext()) {
+                page[count++] = nextInt();
+            }
+            return count;
+        }
+
+        /**
+         * @function advance
+         * @description Partitions until at least arr[next] is in final position
+         * @returns void
+         */
+        private void advance() {
+            while (true) {
+                int runStart = stack[size - 2];
+                if (runStart == next) {
+                    sortedEnd = stack[size - 1];
+                    size -= 2;
+                    return;
+                }
+
+                int high = runStart - 1;
+                if (high - next < NETWORK_SORT_THRESHOLD) {
+                    sorting_network.sort(arr, next, high);
+                    sortedEnd = runStart;
+                    return;
+                }
+
+                long bounds = partition3(arr, next, high);
+                if (size + 2 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                stack[size++] = (int) (bounds >> 32);
+                stack[size++] = (int) bounds + 1;
+            }
+        }
+    }
+
+    /**
+     * @class SortedLongIterator
+     * @description Incremental quicksort over a long array; see
+     *              SortedIntIterator
+     */
+    public static final class SortedLongIterator implements PrimitiveIterator.OfLong {
+        private final long[] arr;
+        private int next;
+        private int sortedEnd;
+        private int[] stack = new int[64];
+        private int size;
+
+        SortedLongIterator(long[] arr) {
+            this.arr = arr;
+            stack[size++] = arr.length;
+            stack[size++] = arr.length;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < arr.length;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (next == sortedEnd) {
+                advance();
+            }
+            return arr[next++];
+        }
+
+        /**
+         * @function nextPage
+         * @description Copies the next values in order into page
+         * @param page long[] - Buffer receiving up to page.length values
+         * @returns int - Number of values written, 0 when exhausted
+         */
+        public int nextPage(long[] page) {
+            int count = 0;
+            while (count < page.length && hasNext()) {
+                page[count++] = nextLong();
+            }
+            return count;
+        }
+
+        /**
+         * @function advance
+         * @description Partitions until at least arr[next] is in final position
+         * @returns void
+         */
+        private void advance() {
+            while (true) {
+                int runStart = stack[size - 2];
+                if (runStart == next) {
+                    sortedEnd = stack[size - 1];
+                    size -= 2;
+                    return;
+                }
+
+                int high = runStart - 1;
+                if (high - next < NETWORK_SORT_THRESHOLD) {
+                    sorting_network.sort(arr, next, high);
+                    sortedEnd = runStart;
+                    return;
+                }
+
+                long bounds = partition3(arr, next, high);
+                if (size + 2 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                stack[size++] = (int) (bounds >> 32);
+                stack[size++] = (int) bounds + 1;
+            }
+        }
+    }
 
-            // Partition the array
-            int pivotIndex = partition(arr, low, high);
+    /**
+     * @function partition3
+     * @description Three-way variant of partition around a random pivot: values
+     *              less than, equal to and greater than the pivot. Grouping the
+     *              equal values keeps arrays with many duplicates from degrading
+     *              to quadratic time.
+     * @param arr  int[] - Array to be partitioned
+     * @param low  int - Starting index
+     * @param high int - Ending index
+     * @returns long - First index of the equal run in the high 32 bits and last
+     *          index in the low 32 bits
+     */
+    private static long partition3(int[] arr, int low, int high) {
+        int pivot = arr[low + ThreadLocalRandom.current().nextInt(high - low + 1)];
+        int lt = low, gt = high, i = low;
 
-            // Recursively sort elements before and after partition
-            randomizedQuickSort(arr, low, pivotIndex - 1);
-            randomizedQuickSort(arr, pivotIndex + 1, high);
+        while (i <= gt) {
+            if (arr[i] < pivot) {
+                swap(arr, lt++, i++);
+            } else if (arr[i] > pivot) {
+                swap(arr, i, gt--);
+            } else {
+                i++;
+            }
         }
+        return ((long) lt << 32) | (gt & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @function partition3
+     * @description Three-way partition of a long range around a random pivot
+     * @param arr  long[] - Array to be partitioned
+     * @param low  int - Starting index
+     * @param high int - Ending index
+     * @returns long - First index of the equal run in the high 32 bits and last
+     *          index in the low 32 bits
+     */
+    private static long partition3(long[] arr, int low, int high) {
+        long pivot = arr[low + ThreadLocalRandom.current().nextInt(high - low + 1)];
+        int lt = low, gt = high, i = low;
+
+        while (i <= gt) {
+            long value = arr[i];
+            if (value < pivot) {
+                arr[i++] = arr[lt];
+                arr[lt++] = value;
+            } else if (value > pivot) {
+                arr[i] = arr[gt];
+                arr[gt--] = value;
+            } else {
+                i++;
+            }
+        }
+        return ((long) lt << 32) | (gt & 0xFFFFFFFFL);
     }
 
     /**
@@ -182,6 +620,51 @@ public class quick_sort {
         randomizedQuickSort(arr5);
         System.out.println("Sorted array: " + Arrays.toString(arr5));
         System.out.println();
+
+        // Test case 6: Introsort on inputs that make plain quick sort quadratic
+        int size = 100_000;
+        int[] sorted = new int[size];
+        int[] equal = new int[size];
+        int[] random = new int[size];
+        Random rnd = new Random(42);
+        for (int i = 0; i < size; i++) {
+            sorted[i] = i;
+            equal[i] = 7;
+            random[i] = rnd.nextInt(1000);
+        }
+        System.out.println("Testing Introsort on " + size + " elements:");
+        for (int[] input : new int[][] { sorted, equal, random }) {
+            int[] expected = input.clone();
+            Arrays.sort(expected);
+            introSort(input);
+            System.out.println("Matches Arrays.sort: " + Arrays.equals(input, expected));
+        }
+        System.out.println();
+
+        // Test case 7: Lazily sorted iterator, read one page at a time
+        int[] arr7 = { 42, 7, 19, 7, 88, 3, 56, 21, 7, 64, 1, 35 };
+        System.out.println("Paging through: " + Arrays.toString(arr7));
+        SortedIntIterator pages = sortedIterator(arr7);
+        int[] page = new int[5];
+        int count;
+        while ((count = pages.nextPage(page)) > 0) {
+            System.out.println("Page: " + Arrays.toString(Arrays.copyOf(page, count)));
+        }
+
+        long[] arr8 = new long[size];
+        for (int i = 0; i < size; i++) {
+            arr8[i] = rnd.nextLong() % 1000;
+        }
+        long[] expected8 = arr8.clone();
+        Arrays.sort(expected8);
+        SortedLongIterator longs = sortedIterator(arr8);
+        boolean inOrder = true;
+        for (int i = 0; i < size; i++) {
+            inOrder &= longs.nextLong() == expected8[i];
+        }
+        System.out.println("Long iterator over " + size + " values matches Arrays.sort: "
+                + (inOrder && !longs.hasNext()));
+        System.out.println();
     }
 
     /**
@@ -209,6 +692,41 @@ public class quick_sort {
             double duration = (endTime - startTime) / 1_000_000.0; // Convert to milliseconds
             System.out.printf("Array size %d: %.2f ms%n", size, duration);
         }
+
+        // Introsort on already sorted input of increasing size
+        for (int size : new int[] { 100_000, 1_000_000 }) {
+            int[] arr = new int[size];
+            for (int i = 0; i < size; i++) {
+                arr[i] = i;
+            }
+
+            long startTime = System.nanoTime();
+            introSort(arr);
+            long endTime = System.nanoTime();
+
+            double duration = (endTime - startTime) / 1_000_000.0;
+            System.out.printf("Introsort, sorted array size %d: %.2f ms%n", size, duration);
+        }
+
+        // First page of a large result: lazy iterator against a full sort
+        int[] data = new int[5_000_000];
+        Random random = new Random(7);
+        for (int i = 0; i < data.length; i++) {
+            data[i] = random.nextInt();
+        }
+        int[] copy = data.clone();
+        int[] page = new int[100];
+
+        long startTime = System.nanoTime();
+        sortedIterator(data).nextPage(page);
+        long lazyTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        introSort(copy);
+        long fullTime = System.nanoTime() - startTime;
+
+        System.out.printf("First %d of %d values: sortedIterator %.2f ms, introSort %.2f ms%n",
+                page.length, data.length, lazyTime / 1_000_000.0, fullTime / 1_000_000.0);
     }
 
     /**
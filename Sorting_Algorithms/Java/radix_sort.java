@@ -7,12 +7,26 @@
  */
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToLongFunction;
 
 /**
  * @class RadixSort
  * @description Class containing Radix Sort algorithm implementation
  */
-public class radix_sort {
+public class radix_sort implements sorter {
+
+    // Number of buckets per byte-wise pass
+    private static final int RADIX = 256;
+
+    // String ranges below this size switch from MSD radix to multikey quicksort
+    private static final int MULTIKEY_QUICKSORT_THRESHOLD = 64;
+
+    // String ranges below this size are finished with insertion sort
+    private static final int STRING_INSERTION_THRESHOLD = 8;
+
+    // Arrays at or below this size are sorted on the calling thread only
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
 
     /**
      * @function radixSort
@@ -231,6 +245,785 @@ public class radix_sort {
         System.arraycopy(output, 0, arr, 0, n);
     }
 
+    /**
+     * @function radixSortParallel
+     * @description Byte-wise (base 256) LSD radix sort for int keys, including
+     *              negatives. Each pass builds per-thread histograms and scatters
+     *              in parallel, so 32-bit keys take at most four passes.
+     * @param arr         int[] - Array to be sorted
+     * @param parallelism int - Number of worker threads to use
+     * @returns void - Sorts the array in place
+     */
+    public static void radixSortParallel(int[] arr, int parallelism) {
+        if (arr == null || arr.length <= 1) {
+            return;
+        }
+
+        // Flipping the sign bit makes signed order match unsigned byte order
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] ^= Integer.MIN_VALUE;
+        }
+        sortUnsignedKeys(arr, parallelism);
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] ^= Integer.MIN_VALUE;
+        }
+    }
+
+    /**
+     * @function radixSortParallel
+     * @description Byte-wise LSD radix sort for long keys, including negatives
+     * @param arr         long[] - Array to be sorted
+     * @param parallelism int - Number of worker threads to use
+     * @returns void - Sorts the array in place
+     */
+    public static void radixSortParallel(long[] arr, int parallelism) {
+        if (arr == null || arr.length <= 1) {
+            return;
+        }
+
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] ^= Long.MIN_VALUE;
+        }
+        sortUnsignedKeys(arr, parallelism);
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] ^= Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * @function radixSortParallel
+     * @description Byte-wise LSD radix sort for floats. The IEEE 754 bit patterns
+     *              are mapped so that unsigned order matches numeric order; the
+     *              result matches Arrays.sort (-0.0 before 0.0, NaN last).
+     * @param arr         float[] - Array to be sorted
+     * @param parallelism int - Number of worker threads to use
+     * @returns void - Sorts the array in place
+     */
+    public static void radixSortParallel(float[] arr, int parallelism) {
+        if (arr == null || arr.length <= 1) {
+            return;
+        }
+
+        int[] keys = new int[arr.length];
+        for (int i = 0; i < arr.length; i++) {
+            int bits = Float.floatToIntBits(arr[i]);
+            // Negative values: invert all bits; positive values: set the sign bit
+            keys[i] = bits ^ ((bits >> 31) | Integer.MIN_VALUE);
+        }
+        sortUnsignedKeys(keys, parallelism);
+        for (int i = 0; i < arr.length; i++) {
+            int key = keys[i];
+            arr[i] = Float.intBitsToFloat(key < 0 ? key ^ Integer.MIN_VALUE : ~key);
+        }
+    }
+
+    /**
+     * @function radixSortParallel
+     * @description Byte-wise LSD radix sort for doubles using the same mapping
+     *              as the float version
+     * @param arr         double[] - Array to be sorted
+     * @param parallelism int - Number of worker threads to use
+     * @returns void - Sorts the array in place
+     */
+    public static void radixSortParallel(double[] arr, int parallelism) {
+        if (arr == null || arr.length <= 1) {
+            return;
+        }
+
+        long[] keys = new long[arr.length];
+        for (int i = 0; i < arr.length; i++) {
+            long bits = Double.doubleToLongBits(arr[i]);
+            keys[i] = bits ^ ((bits >> 63) | Long.MIN_VALUE);
+        }
+        sortUnsignedKeys(keys, parallelism);
+        for (int i = 0; i < arr.length; i++) {
+            long key = keys[i];
+            arr[i] = Double.longBitsToDouble(key < 0 ? key ^ Long.MIN_VALUE : ~key);
+        }
+    }
+
+    /**
+     * @function sortUnsignedKeys
+     * @description Stable LSD radix sort of int keys treated as unsigned, one
+     *              byte per pass. Passes where every key has the same byte are
+     *              skipped.
+     * @param arr         int[] - Keys to be sorted
+     * @param parallelism int - Number of worker threads to use
+     * @returns void
+     */
+    private static void sortUnsignedKeys(int[] arr, int parallelism) {
+        int n = arr.length;
+        int chunks = chunkCount(n, parallelism);
+        ForkJoinPool pool = chunks > 1 ? new ForkJoinPool(chunks) : null;
+
+        try {
+            int[] src = arr;
+            int[] dst = new int[n];
+            int[][] histograms = new int[chunks][RADIX];
+
+            for (int shift = 0; shift < Integer.SIZE; shift += 8) {
+                final int[] from = src;
+                final int[] to = dst;
+                final int passShift = shift;
+
+                // Per-chunk histograms of the current byte
+                parallel_chunks.runChunks(pool, chunks, c -> {
+                    int[] count = histograms[c];
+                    Arrays.fill(count, 0);
+                    int end = parallel_chunks.chunkStart(n, chunks, c + 1);
+                    for (int i = parallel_chunks.chunkStart(n, chunks, c); i < end; i++) {
+                        count[(from[i] >>> passShift) & 0xFF]++;
+                    }
+                });
+
+                if (!prefixSums(histograms, n)) {
+                    continue;
+                }
+
+                // Each chunk scatters its keys into its own slots of every bucket
+                parallel_chunks.runChunks(pool, chunks, c -> {
+                    int[] offset = histograms[c];
+                    int end = parallel_chunks.chunkStart(n, chunks, c + 1);
+                    for (int i = parallel_chunks.chunkStart(n, chunks, c); i < end; i++) {
+                        int key = from[i];
+                        to[offset[(key >>> passShift) & 0xFF]++] = key;
+                    }
+                });
+
+                src = to;
+                dst = from;
+            }
+
+            if (src != arr) {
+                System.arraycopy(src, 0, arr, 0, n);
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * @function sortUnsignedKeys
+     * @description Stable LSD radix sort of long keys treated as unsigned, one
+     *              byte per pass
+     * @param arr         long[] - Keys to be sorted
+     * @param parallelism int - Number of worker threads to use
+     * @returns void
+     */
+    private static void sortUnsignedKeys(long[] arr, int parallelism) {
+        int n = arr.length;
+        int chunks = chunkCount(n, parallelism);
+        ForkJoinPool pool = chunks > 1 ? new ForkJoinPool(chunks) : null;
+
+        try {
+            long[] src = arr;
+            long[] dst = new long[n];
+            int[][] histograms = new int[chunks][RADIX];
+
+            for (int shift = 0; shift < Long.SIZE; shift += 8) {
+                final long[] from = src;
+                final long[] to = dst;
+                final int passShift = shift;
+
+                parallel_chunks.runChunks(pool, chunks, c -> {
+                    int[] count = histograms[c];
+                    Arrays.fill(count, 0);
+                    int end = parallel_chunks.chunkStart(n, chunks, c + 1);
+                    for (int i = parallel_chunks.chunkStart(n, chunks, c); i < end; i++) {
+                        count[(int) (from[i] >>> passShift) & 0xFF]++;
+                    }
+                });
+
+                if (!prefixSums(histograms, n)) {
+                    continue;
+                }
+
+                parallel_chunks.runChunks(pool, chunks, c -> {
+                    int[] offset = histograms[c];
+                    int end = parallel_chunks.chunkStart(n, chunks, c + 1);
+                    for (int i = parallel_chunks.chunkStart(n, chunks, c); i < end; i++) {
+                        long key = from[i];
+                        to[offset[(int) (key >>> passShift) & 0xFF]++] = key;
+                    }
+                });
+
+                src = to;
+                dst = from;
+            }
+
+            if (src != arr) {
+                System.arraycopy(src, 0, arr, 0, n);
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * @function radixSortOffHeap
+     * @description Sorts an off-heap int or long array in place, allocating
+     *              direct memory of the same size as scratch space
+     * @param data        off_heap_array - Array to be sorted
+     * @param parallelism int - Number of worker threads to use
+     * @returns void - Sorts the array in place
+     */
+    public static void radixSortOffHeap(off_heap_array data, int parallelism) {
+        radixSortOffHeap(data, off_heap_array.allocate(data.length(), data.elementSize()), parallelism);
+    }
+
+    /**
+     * @function radixSortOffHeap
+     * @description Byte-wise LSD radix sort of a signed int or long off_heap_array
+     *              (direct memory or a mapped file), with the same per-chunk
+     *              histogram and scatter passes as radixSortParallel but long
+     *              indices and counts throughout. Passes alternate between data
+     *              and scratch and nothing is copied onto the heap, so arrays of
+     *              more than 2^31 elements and larger than the heap can be sorted.
+     * @param data        off_heap_array - Array to be sorted
+     * @param scratch     off_heap_array - Scratch space with the same element
+     *                    size and at least as many elements, e.g. a temporary
+     *                    mapped file; its contents are overwritten
+     * @param parallelism int - Number of worker threads to use
+     * @returns void - Sorts the array in place
+     */
+    public static void radixSortOffHeap(off_heap_array data, off_heap_array scratch, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        if (scratch.elementSize() != data.elementSize() || scratch.length() < data.length()) {
+            throw new IllegalArgumentException("Scratch must match the element size and length of the data");
+        }
+        long n = data.length();
+        if (n <= 1) {
+            return;
+        }
+
+        int elementSize = data.elementSize();
+        int chunks = n <= PARALLEL_THRESHOLD ? 1 : parallelism;
+        ForkJoinPool pool = chunks > 1 ? new ForkJoinPool(chunks) : null;
+
+        try {
+            off_heap_array src = data;
+            off_heap_array dst = scratch;
+            long[][] histograms = new long[chunks][RADIX];
+
+            for (int shift = 0; shift < elementSize * Byte.SIZE; shift += 8) {
+                final off_heap_array from = src;
+                final off_heap_array to = dst;
+                final int passShift = shift;
+
+                parallel_chunks.runChunks(pool, chunks, c -> {
+                    long[] count = histograms[c];
+                    Arrays.fill(count, 0);
+                    long end = parallel_chunks.chunkStart(n, chunks, c + 1);
+                    for (long i = parallel_chunks.chunkStart(n, chunks, c); i < end; i++) {
+                        count[(int) (unsignedKey(from.get(i), elementSize) >>> passShift) & 0xFF]++;
+                    }
+                });
+
+                // Turn counts into per-chunk offsets, skipping passes with one bucket
+                long position = 0;
+                boolean skip = false;
+                for (int digit = 0; digit < RADIX && !skip; digit++) {
+                    long bucketSize = 0;
+                    for (long[] count : histograms) {
+                        bucketSize += count[digit];
+                    }
+                    skip = bucketSize == n;
+                    for (long[] count : histograms) {
+                        long c = count[digit];
+                        count[digit] = position;
+                        position += c;
+                    }
+                }
+                if (skip) {
+                    continue;
+                }
+
+                parallel_chunks.runChunks(pool, chunks, c -> {
+                    long[] offset = histograms[c];
+                    long end = parallel_chunks.chunkStart(n, chunks, c + 1);
+                    for (long i = parallel_chunks.chunkStart(n, chunks, c); i < end; i++) {
+                        long value = from.get(i);
+                        to.set(offset[(int) (unsignedKey(value, elementSize) >>> passShift) & 0xFF]++, value);
+                    }
+                });
+
+                src = to;
+                dst = from;
+            }
+
+            if (src != data) {
+                final off_heap_array sorted = src;
+                parallel_chunks.runChunks(pool, chunks, c -> {
+                    long end = parallel_chunks.chunkStart(n, chunks, c + 1);
+                    for (long i = parallel_chunks.chunkStart(n, chunks, c); i < end; i++) {
+                        data.set(i, sorted.get(i));
+                    }
+                });
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * @function unsignedKey
+     * @description Maps a signed element to a key whose unsigned order matches
+     *              the signed order of the element
+     * @param value       long - Element as returned by off_heap_array.get
+     * @param elementSize int - Bytes per element
+     * @returns long - Unsigned sort key
+     */
+    private static long unsignedKey(long value, int elementSize) {
+        return elementSize == Long.BYTES ? value ^ Long.MIN_VALUE : (value ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * @function argsort
+     * @description Stable byte-wise LSD radix sort of indices by signed long key.
+     *              Returns the permutation that sorts keys without moving them;
+     *              equal keys keep their original relative order.
+     * @param keys long[] - Keys to sort by (not modified)
+     * @returns int[] - Sorting permutation of indices into keys
+     */
+    public static int[] argsort(long[] keys) {
+        int n = keys.length;
+        long[] sortKeys = new long[n];
+        int[] index = new int[n];
+        for (int i = 0; i < n; i++) {
+            sortKeys[i] = keys[i] ^ Long.MIN_VALUE;
+            index[i] = i;
+        }
+        sortPairs(sortKeys, index, 1);
+        return index;
+    }
+
+    /**
+     * @function sortBy
+     * @description Stable sort of objects by a long key, using all available
+     *              processors
+     * @param arr T[] - Array to be sorted
+     * @param key ToLongFunction - Extracts the sort key from an element
+     * @returns void - Sorts the array in place
+     */
+    public static <T> void sortBy(T[] arr, ToLongFunction<? super T> key) {
+        sortBy(arr, key, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @function sortBy
+     * @description Stable sort of objects by a long key (a Schwartzian
+     *              transform). The key function is called exactly once per
+     *              element, the (key, index) pairs are radix sorted in
+     *              primitive arrays, and the objects are moved once at the end.
+     *              Key extraction, sorting and the final permutation all run in
+     *              parallel for large arrays.
+     * @param arr         T[] - Array to be sorted
+     * @param key         ToLongFunction - Extracts the sort key from an element
+     * @param parallelism int - Number of worker threads to use
+     * @returns void - Sorts the array in place
+     */
+    public static <T> void sortBy(T[] arr, ToLongFunction<? super T> key, int parallelism) {
+        int n = arr.length;
+        int chunks = chunkCount(n, parallelism);
+        if (n <= 1) {
+            return;
+        }
+
+        long[] keys = new long[n];
+        int[] index = new int[n];
+        ForkJoinPool pool = chunks > 1 ? new ForkJoinPool(chunks) : null;
+        try {
+            parallel_chunks.runChunks(pool, chunks, c -> {
+                int end = parallel_chunks.chunkStart(n, chunks, c + 1);
+                for (int i = parallel_chunks.chunkStart(n, chunks, c); i < end; i++) {
+                    keys[i] = key.applyAsLong(arr[i]) ^ Long.MIN_VALUE;
+                    index[i] = i;
+                }
+            });
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+
+        sortPairs(keys, index, parallelism);
+
+        Object[] original = arr.clone();
+        pool = chunks > 1 ? new ForkJoinPool(chunks) : null;
+        try {
+            parallel_chunks.runChunks(pool, chunks, c -> {
+                int end = parallel_chunks.chunkStart(n, chunks, c + 1);
+                for (int i = parallel_chunks.chunkStart(n, chunks, c); i < end; i++) {
+                    @SuppressWarnings("unchecked")
+                    T element = (T) original[index[i]];
+                    arr[i] = element;
+                }
+            });
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * @function sortPairs
+     * @description Stable LSD radix sort of (key, index) pairs by key treated as
+     *              unsigned, one byte per pass, with per-chunk histograms and
+     *              scatters as in sortUnsignedKeys
+     * @param keys        long[] - Keys, sorted in place
+     * @param index       int[] - Values carried along with the keys
+     * @param parallelism int - Number of worker threads to use
+     * @returns void
+     */
+    private static void sortPairs(long[] keys, int[] index, int parallelism) {
+        int n = keys.length;
+        int chunks = chunkCount(n, parallelism);
+        if (n <= 1) {
+            return;
+        }
+        ForkJoinPool pool = chunks > 1 ? new ForkJoinPool(chunks) : null;
+
+        try {
+            long[] srcKeys = keys;
+            int[] srcIndex = index;
+            long[] dstKeys = new long[n];
+            int[] dstIndex = new int[n];
+            int[][] histograms = new int[chunks][RADIX];
+
+            for (int shift = 0; shift < Long.SIZE; shift += 8) {
+                final long[] fromKeys = srcKeys;
+                final int[] fromIndex = srcIndex;
+                final long[] toKeys = dstKeys;
+                final int[] toIndex = dstIndex;
+                final int passShift = shift;
+
+                parallel_chunks.runChunks(pool, chunks, c -> {
+                    int[] count = histograms[c];
+                    Arrays.fill(count, 0);
+                    int end = parallel_chunks.chunkStart(n, chunks, c + 1);
+                    for (int i = parallel_chunks.chunkStart(n, chunks, c); i < end; i++) {
+                        count[(int) (fromKeys[i] >>> passShift) & 0xFF]++;
+                    }
+                });
+
+                // Skip bytes that are the same for every key
+                if (!prefixSums(histograms, n)) {
+                    continue;
+                }
+
+                parallel_chunks.runChunks(pool, chunks, c -> {
+                    int[] offset = histograms[c];
+                    int end = parallel_chunks.chunkStart(n, chunks, c + 1);
+                    for (int i = parallel_chunks.chunkStart(n, chunks, c); i < end; i++) {
+                        long k = fromKeys[i];
+                        int slot = offset[(int) (k >>> passShift) & 0xFF]++;
+                        toKeys[slot] = k;
+                        toIndex[slot] = fromIndex[i];
+                    }
+                });
+
+                srcKeys = toKeys;
+                srcIndex = toIndex;
+                dstKeys = fromKeys;
+                dstIndex = fromIndex;
+            }
+
+            if (srcKeys != keys) {
+                System.arraycopy(srcKeys, 0, keys, 0, n);
+                System.arraycopy(srcIndex, 0, index, 0, n);
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * @function sortByKey
+     * @description Sorts keys in place and reorders every payload column the same
+     *              way, as if each row (key, payload[0][i], payload[1][i], ...)
+     *              were sorted by key. The sort is stable and everything stays in
+     *              primitive arrays.
+     * @param keys     long[] - Keys to be sorted
+     * @param payloads int[]... - Columns reordered along with the keys
+     * @returns void - Sorts keys and payloads in place
+     */
+    public static void sortByKey(long[] keys, int[]... payloads) {
+        for (int[] payload : payloads) {
+            if (payload.length != keys.length) {
+                throw new IllegalArgumentException("Payload length " + payload.length
+                        + " does not match key length " + keys.length);
+            }
+        }
+        if (keys.length <= 1) {
+            return;
+        }
+
+        int[] perm = argsort(keys);
+
+        long[] sortedKeys = new long[keys.length];
+        for (int i = 0; i < perm.length; i++) {
+            sortedKeys[i] = keys[perm[i]];
+        }
+        System.arraycopy(sortedKeys, 0, keys, 0, keys.length);
+
+        // One scratch column is reused for every payload
+        int[] column = new int[keys.length];
+        for (int[] payload : payloads) {
+            for (int i = 0; i < perm.length; i++) {
+                column[i] = payload[perm[i]];
+            }
+            System.arraycopy(column, 0, payload, 0, payload.length);
+        }
+    }
+
+    /**
+     * @function prefixSums
+     * @description Turns per-chunk bucket counts into per-chunk starting offsets.
+     *              Buckets are laid out in digit order and, within a bucket, in
+     *              chunk order, which keeps the pass stable.
+     * @param histograms int[][] - Per-chunk counts, overwritten with offsets
+     * @param n          int - Total number of keys
+     * @returns boolean - False if all keys fall in one bucket and the pass can
+     *          be skipped
+     */
+    private static boolean prefixSums(int[][] histograms, int n) {
+        int position = 0;
+
+        for (int digit = 0; digit < RADIX; digit++) {
+            int bucketSize = 0;
+            for (int[] count : histograms) {
+                bucketSize += count[digit];
+            }
+            if (bucketSize == n) {
+                return false;
+            }
+
+            for (int[] count : histograms) {
+                int c = count[digit];
+                count[digit] = position;
+                position += c;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @function chunkCount
+     * @description Number of chunks to split n keys into
+     * @param n           int - Number of keys
+     * @param parallelism int - Requested number of worker threads
+     * @returns int - Number of chunks, 1 for small inputs
+     */
+    private static int chunkCount(int n, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        return n <= PARALLEL_THRESHOLD ? 1 : parallelism;
+    }
+
+    /**
+     * @function radixSortForUtf8
+     * @description MSD radix sort for UTF-8 encoded keys. Keys are ordered by
+     *              unsigned byte value, which for valid UTF-8 is code point
+     *              order, and a key sorts before any longer key it is a prefix
+     *              of. Prefixes shared by a whole range are skipped with one
+     *              mismatch scan instead of one pass per byte, and small buckets
+     *              are finished with multikey quicksort.
+     * @param keys byte[][] - UTF-8 keys to be sorted
+     * @returns void - Sorts the array in place
+     */
+    public static void radixSortForUtf8(byte[][] keys) {
+        if (keys == null || keys.length <= 1) {
+            return;
+        }
+        msdRadixSort(keys, new byte[keys.length][], 0, keys.length, 0);
+    }
+
+    /**
+     * @function msdRadixSort
+     * @description Sorts keys[low..high) whose first depth bytes are known to be
+     *              equal
+     * @param keys  byte[][] - Keys to be sorted
+     * @param aux   byte[][] - Scratch array of the same length
+     * @param low   int - Starting index (inclusive)
+     * @param high  int - Ending index (exclusive)
+     * @param depth int - Byte position to sort on
+     * @returns void
+     */
+    private static void msdRadixSort(byte[][] keys, byte[][] aux, int low, int high, int depth) {
+        if (high - low < MULTIKEY_QUICKSORT_THRESHOLD) {
+            multikeyQuickSort(keys, low, high, depth);
+            return;
+        }
+
+        depth += commonPrefixLength(keys, low, high, depth);
+
+        // Bucket 0 holds keys that end at this depth, bucket b + 1 holds byte b
+        int[] count = new int[RADIX + 2];
+        for (int i = low; i < high; i++) {
+            count[byteAt(keys[i], depth) + 2]++;
+        }
+        for (int b = 0; b <= RADIX; b++) {
+            count[b + 1] += count[b];
+        }
+        for (int i = low; i < high; i++) {
+            aux[count[byteAt(keys[i], depth) + 1]++] = keys[i];
+        }
+        System.arraycopy(aux, 0, keys, low, high - low);
+
+        // Keys that ended are all equal; recurse into every other bucket
+        for (int b = 1; b <= RADIX; b++) {
+            int start = low + count[b - 1];
+            int end = low + count[b];
+            if (end - start > 1) {
+                msdRadixSort(keys, aux, start, end, depth + 1);
+            }
+        }
+    }
+
+    /**
+     * @function multikeyQuickSort
+     * @description Three-way radix quicksort (Bentley-Sedgewick) on the byte at
+     *              the given depth. Keys equal to the pivot byte move on to the
+     *              next byte in the same loop rather than a new call.
+     * @param keys  byte[][] - Keys to be sorted
+     * @param low   int - Starting index (inclusive)
+     * @param high  int - Ending index (exclusive)
+     * @param depth int - Byte position to partition on
+     * @returns void
+     */
+    private static void multikeyQuickSort(byte[][] keys, int low, int high, int depth) {
+        while (high - low >= STRING_INSERTION_THRESHOLD) {
+            depth += commonPrefixLength(keys, low, high, depth);
+
+            int pivot = medianOfThree(byteAt(keys[low], depth),
+                    byteAt(keys[(low + high) >>> 1], depth),
+                    byteAt(keys[high - 1], depth));
+
+            int lt = low, gt = high - 1, i = low;
+            while (i <= gt) {
+                int b = byteAt(keys[i], depth);
+                if (b < pivot) {
+                    swap(keys, lt++, i++);
+                } else if (b > pivot) {
+                    swap(keys, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+
+            multikeyQuickSort(keys, low, lt, depth);
+            multikeyQuickSort(keys, gt + 1, high, depth);
+
+            // Keys in the middle all ended here if the pivot is the end marker
+            if (pivot < 0) {
+                return;
+            }
+            low = lt;
+            high = gt + 1;
+            depth++;
+        }
+
+        // Insertion sort for the last few keys, comparing from depth onward
+        for (int i = low + 1; i < high; i++) {
+            byte[] key = keys[i];
+            int j = i - 1;
+            while (j >= low && Arrays.compareUnsigned(keys[j], Math.min(depth, keys[j].length), keys[j].length,
+                    key, Math.min(depth, key.length), key.length) > 0) {
+                keys[j + 1] = keys[j];
+                j--;
+            }
+            keys[j + 1] = key;
+        }
+    }
+
+    /**
+     * @function commonPrefixLength
+     * @description Number of bytes from depth onward shared by every key in the
+     *              range, found with Arrays.mismatch against the first key
+     * @param keys  byte[][] - Keys to inspect
+     * @param low   int - Starting index (inclusive)
+     * @param high  int - Ending index (exclusive)
+     * @param depth int - Position the shared prefix is known to reach
+     * @returns int - Additional shared bytes beyond depth
+     */
+    private static int commonPrefixLength(byte[][] keys, int low, int high, int depth) {
+        byte[] first = keys[low];
+        int prefix = first.length - depth;
+
+        for (int i = low + 1; i < high && prefix > 0; i++) {
+            byte[] key = keys[i];
+            int limit = Math.min(prefix, key.length - depth);
+            int mismatch = limit <= 0 ? 0
+                    : Arrays.mismatch(first, depth, depth + limit, key, depth, depth + limit);
+            prefix = mismatch < 0 ? limit : mismatch;
+        }
+        return Math.max(prefix, 0);
+    }
+
+    /**
+     * @function byteAt
+     * @description Unsigned byte of a key at the given position
+     * @param key   byte[] - Key to read
+     * @param depth int - Byte position
+     * @returns int - Byte value 0..255, or -1 if the key is shorter
+     */
+    private static int byteAt(byte[] key, int depth) {
+        return depth < key.length ? key[depth] & 0xFF : -1;
+    }
+
+    /**
+     * @function medianOfThree
+     * @description Median of three byte values
+     * @param a int - First value
+     * @param b int - Second value
+     * @param c int - Third value
+     * @returns int - Median value
+     */
+    private static int medianOfThree(int a, int b, int c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    /**
+     * @function swap
+     * @description Swaps two keys in an array
+     * @param keys byte[][] - Array containing keys
+     * @param i    int - First index
+     * @param j    int - Second index
+     * @returns void
+     */
+    private static void swap(byte[][] keys, int i, int j) {
+        byte[] temp = keys[i];
+        keys[i] = keys[j];
+        keys[j] = temp;
+    }
+
+    /**
+     * @function sort
+     * @description Sorter entry point, using the single-threaded byte-wise
+     *              radix sort, which handles negative values
+     * @param arr int[] - Array to be sorted
+     * @returns void - Sorts the array in place
+     */
+    @Override
+    public void sort(int[] arr) {
+        if (arr == null || arr.length <= 1) {
+            return;
+        }
+        radixSortParallel(arr, 1);
+    }
+
     /**
      * @function printArray
      * @description Prints the elements of an array
@@ -279,6 +1072,94 @@ public class radix_sort {
         radixSortForStrings(arr4);
         System.out.println("Sorted string array: " + Arrays.toString(arr4));
         System.out.println();
+
+        // Test case 5: Parallel byte-wise radix sort with negative keys
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int[] arr5 = { 170, -45, 75, Integer.MIN_VALUE, 2, -802, Integer.MAX_VALUE, 0 };
+        System.out.println("Signed int array: " + Arrays.toString(arr5));
+        radixSortParallel(arr5, parallelism);
+        System.out.println("Sorted array: " + Arrays.toString(arr5));
+
+        long[] arr6 = { 5_000_000_000L, -1L, Long.MIN_VALUE, 42L, -5_000_000_000L, Long.MAX_VALUE };
+        System.out.println("Signed long array: " + Arrays.toString(arr6));
+        radixSortParallel(arr6, parallelism);
+        System.out.println("Sorted array: " + Arrays.toString(arr6));
+
+        float[] arr7 = { 3.5f, -0.0f, Float.NaN, -2.25f, 0.0f, Float.NEGATIVE_INFINITY, 1e-3f };
+        System.out.println("Float array: " + Arrays.toString(arr7));
+        radixSortParallel(arr7, parallelism);
+        System.out.println("Sorted array: " + Arrays.toString(arr7));
+
+        double[] arr8 = new double[200_000];
+        for (int i = 0; i < arr8.length; i++) {
+            arr8[i] = (Math.random() - 0.5) * 1e12;
+        }
+        double[] expected8 = arr8.clone();
+        Arrays.sort(expected8);
+        radixSortParallel(arr8, parallelism);
+        System.out.println("Double array of " + arr8.length + " matches Arrays.sort: "
+                + Arrays.equals(arr8, expected8));
+        System.out.println();
+
+        // Test case 6: Argsort and sorting parallel columns by key
+        long[] keys9 = { 300L, -5L, 300L, 42L, -5_000_000_000L };
+        System.out.println("Keys: " + Arrays.toString(keys9));
+        System.out.println("Argsort permutation: " + Arrays.toString(argsort(keys9)));
+        int[] ids9 = { 0, 1, 2, 3, 4 };
+        int[] scores9 = { 90, 75, 60, 88, 99 };
+        sortByKey(keys9, ids9, scores9);
+        System.out.println("Sorted keys: " + Arrays.toString(keys9));
+        System.out.println("Reordered ids: " + Arrays.toString(ids9));
+        System.out.println("Reordered scores: " + Arrays.toString(scores9));
+        System.out.println();
+
+        // Test case 7: Stable object sort by a derived key
+        String[] words = { "pear", "fig", "banana", "kiwi", "apple", "plum", "date" };
+        System.out.println("Words: " + Arrays.toString(words));
+        sortBy(words, String::length);
+        System.out.println("Sorted by length (stable): " + Arrays.toString(words));
+
+        Long[] boxed = new Long[300_000];
+        for (int i = 0; i < boxed.length; i++) {
+            boxed[i] = (long) (Math.random() * 2e12) - 1_000_000_000_000L;
+        }
+        Long[] expectedBoxed = boxed.clone();
+        Arrays.sort(expectedBoxed, java.util.Comparator.comparingLong(v -> v % 1000));
+        sortBy(boxed, v -> v % 1000, parallelism);
+        System.out.println("Object array of " + boxed.length + " matches stable Arrays.sort: "
+                + Arrays.equals(boxed, expectedBoxed));
+        System.out.println();
+
+        // Test case 8: Off-heap int array sorted without touching the heap
+        off_heap_array offHeap = off_heap_array.allocate(300_000, Integer.BYTES);
+        int[] expectedOffHeap = new int[(int) offHeap.length()];
+        for (int i = 0; i < expectedOffHeap.length; i++) {
+            expectedOffHeap[i] = (int) (Math.random() * 2e9) - 1_000_000_000;
+            offHeap.set(i, expectedOffHeap[i]);
+        }
+        Arrays.sort(expectedOffHeap);
+        radixSortOffHeap(offHeap, parallelism);
+        boolean offHeapMatches = true;
+        for (int i = 0; i < expectedOffHeap.length; i++) {
+            offHeapMatches &= offHeap.get(i) == expectedOffHeap[i];
+        }
+        System.out.println("Off-heap int array of " + offHeap.length() + " matches Arrays.sort: " + offHeapMatches);
+        System.out.println();
+
+        // Test case 9: UTF-8 keys with shared prefixes and non-ASCII characters
+        String[] arr10 = { "https://example.com/b", "https://example.com/a/zeta", "https://example.com/a",
+                "https://example.com/\u00e9t\u00e9", "https://example.com/A", "Zebra", "" };
+        byte[][] keys10 = new byte[arr10.length][];
+        for (int i = 0; i < arr10.length; i++) {
+            keys10[i] = arr10[i].getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        }
+        System.out.println("UTF-8 keys: " + Arrays.toString(arr10));
+        radixSortForUtf8(keys10);
+        for (int i = 0; i < keys10.length; i++) {
+            arr10[i] = new String(keys10[i], java.nio.charset.StandardCharsets.UTF_8);
+        }
+        System.out.println("Sorted keys: " + Arrays.toString(arr10));
+        System.out.println();
     }
 
     /**
@@ -305,6 +1186,62 @@ public class radix_sort {
             double duration = (endTime - startTime) / 1_000_000.0; // Convert to milliseconds
             System.out.printf("Array size %d: %.2f ms%n", size, duration);
         }
+
+        // Byte-wise parallel radix sort on a larger array of full-range ints
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int[] large = new int[5_000_000];
+        java.util.Random random = new java.util.Random();
+        for (int i = 0; i < large.length; i++) {
+            large[i] = random.nextInt();
+        }
+
+        long startTime = System.nanoTime();
+        radixSortParallel(large, parallelism);
+        long endTime = System.nanoTime();
+
+        System.out.printf("Parallel radix sort, array size %d (%d threads): %.2f ms%n",
+                large.length, parallelism, (endTime - startTime) / 1_000_000.0);
+
+        // Sorting objects by a derived key: comparator sort against sortBy
+        Integer[] objects = new Integer[2_000_000];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = random.nextInt();
+        }
+        Integer[] objectsCopy = objects.clone();
+
+        startTime = System.nanoTime();
+        Arrays.sort(objects, java.util.Comparator.comparingLong(v -> Long.reverse(v)));
+        endTime = System.nanoTime();
+        double comparatorTime = (endTime - startTime) / 1_000_000.0;
+
+        startTime = System.nanoTime();
+        sortBy(objectsCopy, v -> Long.reverse(v), parallelism);
+        endTime = System.nanoTime();
+
+        System.out.printf("Objects %d by derived key: Arrays.sort with comparator %.2f ms, sortBy %.2f ms%n",
+                objects.length, comparatorTime, (endTime - startTime) / 1_000_000.0);
+
+        // UTF-8 MSD radix sort against Arrays.sort on URL-like keys
+        int urlCount = 500_000;
+        String[] urls = new String[urlCount];
+        byte[][] urlKeys = new byte[urlCount][];
+        for (int i = 0; i < urlCount; i++) {
+            urls[i] = "https://www.example.com/products/category-" + random.nextInt(50) + "/item/"
+                    + random.nextInt(1_000_000);
+            urlKeys[i] = urls[i].getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        }
+
+        startTime = System.nanoTime();
+        Arrays.sort(urls);
+        endTime = System.nanoTime();
+        double stringSortTime = (endTime - startTime) / 1_000_000.0;
+
+        startTime = System.nanoTime();
+        radixSortForUtf8(urlKeys);
+        endTime = System.nanoTime();
+
+        System.out.printf("URL keys %d: Arrays.sort(String[]) %.2f ms, radixSortForUtf8 %.2f ms%n",
+                urlCount, stringSortTime, (endTime - startTime) / 1_000_000.0);
     }
 
     /**
@@ -0,0 +1,256 @@
+
+/**
+ * @file sample_sort.java
+ * @description Implementation of parallel Sample Sort in Java
+ * @author Algorithm Collection
+ * @version 1.0
+ */
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @class SampleSort
+ * @description Sample sort: splitters are chosen from an oversampled random
+ *              sample, every element is classified and scattered into its
+ *              bucket in one parallel pass, and the buckets are then sorted
+ *              independently. Unlike parallel merge sort there is no final
+ *              merge, so all phases keep every thread busy. Each distinct
+ *              splitter also gets an equality bucket of its own, so heavily
+ *              repeated values are never sorted again and cannot unbalance the
+ *              other buckets.
+ */
+public class sample_sort implements sorter {
+
+    // Arrays smaller than this are sorted directly
+    private static final int MIN_SAMPLE_SORT_SIZE = 1 << 12;
+
+    // Buckets per thread; extra buckets let work stealing even out the load
+    private static final int BUCKETS_PER_THREAD = 8;
+
+    // Smallest average bucket size worth a separate task
+    private static final int MIN_BUCKET_SIZE = 1 << 10;
+
+    // Samples taken per bucket when choosing splitters
+    private static final int OVERSAMPLING = 16;
+
+    /**
+     * @function sort
+     * @description Sorts the array on the calling thread
+     * @param arr int[] - Array to be sorted
+     * @returns void - Sorts the array in place
+     */
+    @Override
+    public void sort(int[] arr) {
+        if (arr == null || arr.length <= 1) {
+            return;
+        }
+        sampleSort(arr);
+    }
+
+    /**
+     * @function sampleSort
+     * @description Sorts an array with sample sort on the calling thread
+     * @param arr int[] - Array to be sorted
+     * @returns void - Sorts the array in place
+     */
+    public static void sampleSort(int[] arr) {
+        sampleSortParallel(arr, 1);
+    }
+
+    /**
+     * @function sampleSortParallel
+     * @description Sorts an array with sample sort using a ForkJoinPool. The
+     *              classification, scatter, bucket sorting and copy-back passes
+     *              all run in parallel.
+     * @param arr         int[] - Array to be sorted
+     * @param parallelism int - Number of worker threads to use
+     * @returns void - Sorts the array in place
+     */
+    public static void sampleSortParallel(int[] arr, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        int n = arr.length;
+        if (n < MIN_SAMPLE_SORT_SIZE) {
+            Arrays.sort(arr);
+            return;
+        }
+
+        int[] splitters = sampleSplitters(arr, Math.max(2, Math.min(parallelism * BUCKETS_PER_THREAD,
+                n / MIN_BUCKET_SIZE)));
+        // Bucket 2i holds values between splitters i-1 and i, bucket 2i+1 values equal to splitter i
+        int bucketCount = 2 * splitters.length + 1;
+        int chunks = parallelism;
+        ForkJoinPool pool = chunks > 1 ? new ForkJoinPool(chunks) : null;
+
+        try {
+            int[] output = new int[n];
+            int[] bucketStart = parallel_chunks.scatterByBucket(pool, chunks, n, bucketCount,
+                    i -> bucketIndex(splitters, arr[i]), (from, to) -> output[to] = arr[from]);
+
+            // One task per range bucket; equality buckets are already sorted
+            parallel_chunks.runChunks(pool, splitters.length + 1, b -> {
+                int from = bucketStart[2 * b];
+                int to = bucketStart[2 * b + 1];
+                if (to - from > 1) {
+                    Arrays.sort(output, from, to);
+                }
+            });
+
+            parallel_chunks.runChunks(pool, chunks, c -> {
+                int from = parallel_chunks.chunkStart(n, chunks, c);
+                System.arraycopy(output, from, arr, from, parallel_chunks.chunkStart(n, chunks, c + 1) - from);
+            });
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * @function sampleSplitters
+     * @description Picks splitters at evenly spaced ranks of a sorted random
+     *              sample and removes repeats. A value that fills several ranks
+     *              of the sample becomes a single splitter, and its equality
+     *              bucket absorbs all of its copies.
+     * @param arr         int[] - Array to sample from
+     * @param bucketCount int - Desired number of range buckets
+     * @returns int[] - Distinct sorted splitters
+     */
+    private static int[] sampleSplitters(int[] arr, int bucketCount) {
+        int sampleSize = (int) Math.min(arr.length, (long) bucketCount * OVERSAMPLING);
+        int[] sample = new int[sampleSize];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < sampleSize; i++) {
+            sample[i] = arr[random.nextInt(arr.length)];
+        }
+        Arrays.sort(sample);
+
+        int[] splitters = new int[bucketCount - 1];
+        int count = 0;
+        for (int i = 0; i < splitters.length; i++) {
+            int splitter = sample[(int) ((long) (i + 1) * sampleSize / bucketCount)];
+            if (count == 0 || splitters[count - 1] != splitter) {
+                splitters[count++] = splitter;
+            }
+        }
+        return Arrays.copyOf(splitters, count);
+    }
+
+    /**
+     * @function bucketIndex
+     * @description Bucket of a value: 2i + 1 if it equals splitter i, otherwise
+     *              2i where i is the number of splitters less than it
+     * @param splitters int[] - Distinct sorted splitters
+     * @param value     int - Value to place
+     * @returns int - Bucket index
+     */
+    private static int bucketIndex(int[] splitters, int value) {
+        int low = 0;
+        int high = splitters.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (splitters[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low < splitters.length && splitters[low] == value ? 2 * low + 1 : 2 * low;
+    }
+
+    /**
+     * @function testSampleSort
+     * @description Test function to demonstrate sample sort
+     * @returns void
+     */
+    public static void testSampleSort() {
+        System.out.println("=== Sample Sort Test ===");
+
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        Random random = new Random(42);
+        int size = 200_000;
+
+        int[][] inputs = new int[4][size];
+        String[] names = { "Random", "Sorted", "Few unique", "All equal" };
+        for (int i = 0; i < size; i++) {
+            inputs[0][i] = random.nextInt();
+            inputs[1][i] = i;
+            inputs[2][i] = random.nextInt(4);
+            inputs[3][i] = 7;
+        }
+
+        for (int t = 0; t < inputs.length; t++) {
+            int[] sequential = inputs[t].clone();
+            int[] parallel = inputs[t].clone();
+            int[] expected = inputs[t].clone();
+            Arrays.sort(expected);
+
+            sampleSort(sequential);
+            sampleSortParallel(parallel, Math.max(4, parallelism));
+            System.out.println(names[t] + " (" + size + "): sequential "
+                    + Arrays.equals(sequential, expected) + ", parallel " + Arrays.equals(parallel, expected));
+        }
+
+        int[] small = { 5, -3, 9, 0, -3, 12 };
+        sampleSort(small);
+        System.out.println("Small array: " + Arrays.toString(small));
+        new sample_sort().sort(null);
+        System.out.println("Sorter accepts a null array");
+        System.out.println();
+    }
+
+    /**
+     * @function performanceTest
+     * @description Compares sample sort with parallel merge sort and Arrays.sort
+     * @returns void
+     */
+    public static void performanceTest() {
+        System.out.println("=== Performance Test ===");
+
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        Random random = new Random(7);
+        int[] data = new int[5_000_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = random.nextInt();
+        }
+
+        int[] arr = data.clone();
+        long startTime = System.nanoTime();
+        sampleSortParallel(arr, parallelism);
+        double sampleTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+        arr = data.clone();
+        startTime = System.nanoTime();
+        merge_sort.mergeSortParallel(arr, parallelism);
+        double mergeTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+        arr = data.clone();
+        startTime = System.nanoTime();
+        Arrays.sort(arr);
+        double arraysTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+        System.out.printf("Array size %d (%d threads): sampleSortParallel %.2f ms, mergeSortParallel %.2f ms, "
+                + "Arrays.sort %.2f ms%n", data.length, parallelism, sampleTime, mergeTime, arraysTime);
+    }
+
+    /**
+     * @function main
+     * @description Main method to run the sample sort demonstration
+     * @param args String[] - Command line arguments
+     * @returns void
+     */
+    public static void main(String[] args) {
+        System.out.println("Sample Sort Algorithm Implementation");
+        System.out.println("====================================");
+
+        testSampleSort();
+        performanceTest();
+
+        System.out.println("\nSample Sort completed successfully!");
+    }
+}
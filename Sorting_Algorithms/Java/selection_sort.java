@@ -12,7 +12,7 @@ import java.util.Arrays;
  * @class SelectionSort
  * @description Class containing Selection Sort algorithm implementation
  */
-public class selection_sort {
+public class selection_sort implements sorter {
 
     /**
      * @function selectionSort
@@ -80,6 +80,20 @@ public class selection_sort {
         arr[j] = temp;
     }
 
+    /**
+     * @function sort
+     * @description Sorter entry point, using the selection sort
+     * @param arr int[] - Array to be sorted
+     * @returns void - Sorts the array in place
+     */
+    @Override
+    public void sort(int[] arr) {
+        if (arr == null || arr.length <= 1) {
+            return;
+        }
+        selectionSort(arr);
+    }
+
     /**
      * @function printArray
      * @description Prints the elements of an array
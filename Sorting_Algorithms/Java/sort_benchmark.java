@@ -0,0 +1,821 @@
+
+/**
+ * @file sort_benchmark.java
+ * @description Benchmark harness for the public in-memory sorts in this
+ *              directory
+ * @author Algorithm Collection
+ * @version 1.0
+ */
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * @class SortBenchmark
+ * @description Measures throughput and allocation of each sort across input
+ *              sizes and distributions, following the JMH model: every case
+ *              runs in a forked JVM, warmup iterations are discarded, input
+ *              copies are made outside the timed region, results are folded
+ *              into a checksum so the JIT cannot drop the work, and allocation
+ *              per operation is read from the HotSpot thread allocation
+ *              counters (the same source as JMH's GC profiler). Results are
+ *              written as JSON.
+ *
+ *              Usage: java sort_benchmark [--sizes 1000,10000,...]
+ *              [--distributions random,sorted,reversed,few-unique,zipf]
+ *              [--include regex] [--forks n] [--warmup n] [--iterations n]
+ *              [--iteration-ms n] [--output file.json]
+ */
+public class sort_benchmark {
+
+    // Upper size for sorts that are quadratic on every input
+    private static final int QUADRATIC_MAX_SIZE = 10_000;
+
+    // Upper size for sorts that are quadratic (or recurse n deep) on presorted
+    // or few-unique input
+    private static final int DEGENERATE_MAX_SIZE = 10_000;
+
+    // Largest value range given to sorts that allocate one counter per value
+    private static final long DENSE_MAX_RANGE = 1L << 26;
+
+    // Values are kept below this so the base-10 radix sorts stay in range
+    private static final int MAX_VALUE = 1_000_000_000;
+
+    // Number of distinct values in the few-unique distribution
+    private static final int FEW_UNIQUE_VALUES = 16;
+
+    // Prefix marking a result line printed by a forked child JVM
+    private static final String RESULT_PREFIX = "RESULT ";
+
+    // Sink for checksums so the sorted output is always observed
+    private static volatile long sink;
+
+    // Letters per key in the string workloads; 26^7 exceeds MAX_VALUE
+    private static final int STRING_KEY_LENGTH = 7;
+
+    /**
+     * @interface Workload
+     * @description One sort under test together with its working array
+     */
+    private interface Workload {
+        void reset(int[] source);
+
+        void sortOnce();
+
+        long checksum();
+
+        boolean isSorted();
+    }
+
+    /**
+     * @interface InOrder
+     * @description Checks one adjacent pair of a sorted array of type A
+     */
+    private interface InOrder<A> {
+        boolean at(A arr, int i);
+    }
+
+    /**
+     * @class Entry
+     * @description A benchmarked sort and the inputs it can handle
+     */
+    private static final class Entry {
+        final String name;
+        final int maxSize;
+        final boolean degenerateOnPresorted;
+        final boolean needsDenseRange;
+        final Supplier<Workload> workload;
+
+        Entry(String name, int maxSize, boolean degenerateOnPresorted, boolean needsDenseRange,
+                Supplier<Workload> workload) {
+            this.name = name;
+            this.maxSize = maxSize;
+            this.degenerateOnPresorted = degenerateOnPresorted;
+            this.needsDenseRange = needsDenseRange;
+            this.workload = workload;
+        }
+
+        boolean supports(String distribution, int size, long valueRange) {
+            if (size > maxSize) {
+                return false;
+            }
+            if (degenerateOnPresorted && !distribution.equals("random") && size > DEGENERATE_MAX_SIZE) {
+                return false;
+            }
+            return !needsDenseRange || valueRange <= DENSE_MAX_RANGE;
+        }
+    }
+
+    /**
+     * @function intSort
+     * @description Workload for a sort over int[]
+     * @param sort Consumer - The sort to run
+     * @returns Supplier - Factory for fresh workloads
+     */
+    private static Supplier<Workload> intSort(Consumer<int[]> sort) {
+        return () -> new Workload() {
+            private int[] arr = new int[0];
+
+            @Override
+            public void reset(int[] source) {
+                if (arr.length != source.length) {
+                    arr = new int[source.length];
+                }
+                System.arraycopy(source, 0, arr, 0, source.length);
+            }
+
+            @Override
+            public void sortOnce() {
+                sort.accept(arr);
+            }
+
+            @Override
+            public long checksum() {
+                return arr.length == 0 ? 0 : arr[0] + 31L * arr[arr.length / 2] + 961L * arr[arr.length - 1];
+            }
+
+            @Override
+            public boolean isSorted() {
+                for (int i = 1; i < arr.length; i++) {
+                    if (arr[i - 1] > arr[i]) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @function arraySort
+     * @description Workload for a sort over another array type. The int input
+     *              is converted once per input array, outside the timed region,
+     *              and each run sorts a fresh copy of the converted array.
+     * @param convert Function - Builds the array to sort from the int values
+     * @param sort    Consumer - The sort to run
+     * @param inOrder InOrder - Whether arr[i - 1] and arr[i] are in order
+     * @returns Supplier - Factory for fresh workloads
+     */
+    private static <A> Supplier<Workload> arraySort(Function<int[], A> convert, Consumer<A> sort,
+            InOrder<A> inOrder) {
+        return () -> new Workload() {
+            private int[] values;
+            private A source;
+            private A arr;
+            private int length;
+
+            @Override
+            public void reset(int[] input) {
+                if (input != values) {
+                    values = input;
+                    source = convert.apply(input);
+                    arr = convert.apply(input);
+                    length = input.length;
+                }
+                System.arraycopy(source, 0, arr, 0, length);
+            }
+
+            @Override
+            public void sortOnce() {
+                sort.accept(arr);
+            }
+
+            @Override
+            public long checksum() {
+                return length == 0 ? 0
+                        : Objects.hashCode(Array.get(arr, 0)) + 31L * Objects.hashCode(Array.get(arr, length - 1));
+            }
+
+            @Override
+            public boolean isSorted() {
+                for (int i = 1; i < length; i++) {
+                    if (!inOrder.at(arr, i)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @function doubleSort
+     * @description Workload for a sort over double[], fed the same values
+     * @param sort Consumer - The sort to run
+     * @returns Supplier - Factory for fresh workloads
+     */
+    private static Supplier<Workload> doubleSort(Consumer<double[]> sort) {
+        return arraySort(values -> Arrays.stream(values).asDoubleStream().toArray(), sort,
+                (arr, i) -> arr[i - 1] <= arr[i]);
+    }
+
+    /**
+     * @function signedDoubleSort
+     * @description Workload for a sort over double[], with the values shifted
+     *              so half of them are negative and scaled to fractions
+     * @param sort Consumer - The sort to run
+     * @returns Supplier - Factory for fresh workloads
+     */
+    private static Supplier<Workload> signedDoubleSort(Consumer<double[]> sort) {
+        return arraySort(values -> Arrays.stream(values).mapToDouble(v -> (v - MAX_VALUE / 2) / 1024.0).toArray(),
+                sort, (arr, i) -> Double.compare(arr[i - 1], arr[i]) <= 0);
+    }
+
+    /**
+     * @function floatSort
+     * @description Workload for a sort over float[], with the values shifted
+     *              so half of them are negative and scaled to fractions
+     * @param sort Consumer - The sort to run
+     * @returns Supplier - Factory for fresh workloads
+     */
+    private static Supplier<Workload> floatSort(Consumer<float[]> sort) {
+        return arraySort(values -> {
+            float[] floats = new float[values.length];
+            for (int i = 0; i < values.length; i++) {
+                floats[i] = (values[i] - MAX_VALUE / 2) / 1024f;
+            }
+            return floats;
+        }, sort, (arr, i) -> Float.compare(arr[i - 1], arr[i]) <= 0);
+    }
+
+    /**
+     * @function longSort
+     * @description Workload for a sort over long[], with the values spread over
+     *              the whole signed 64-bit range in the same order
+     * @param sort Consumer - The sort to run
+     * @returns Supplier - Factory for fresh workloads
+     */
+    private static Supplier<Workload> longSort(Consumer<long[]> sort) {
+        return arraySort(values -> Arrays.stream(values).mapToLong(v -> ((long) v << 33) - (1L << 62)).toArray(),
+                sort, (arr, i) -> arr[i - 1] <= arr[i]);
+    }
+
+    /**
+     * @function charSort
+     * @description Workload for a sort over char[]. The values are scaled into
+     *              the 8-bit range in the same order, so the distribution keeps
+     *              its shape.
+     * @param sort Consumer - The sort to run
+     * @returns Supplier - Factory for fresh workloads
+     */
+    private static Supplier<Workload> charSort(Consumer<char[]> sort) {
+        return arraySort(values -> {
+            long max = Arrays.stream(values).max().orElse(0);
+            char[] chars = new char[values.length];
+            for (int i = 0; i < values.length; i++) {
+                chars[i] = (char) (values[i] * 256L / (max + 1));
+            }
+            return chars;
+        }, sort, (arr, i) -> arr[i - 1] <= arr[i]);
+    }
+
+    /**
+     * @function boxedSort
+     * @description Workload for a sort over Integer[] holding the same values
+     * @param sort Consumer - The sort to run
+     * @returns Supplier - Factory for fresh workloads
+     */
+    private static Supplier<Workload> boxedSort(Consumer<Integer[]> sort) {
+        return arraySort(values -> Arrays.stream(values).boxed().toArray(Integer[]::new), sort,
+                (arr, i) -> arr[i - 1] <= arr[i]);
+    }
+
+    /**
+     * @function stringKey
+     * @description Fixed-length lowercase key whose lexicographic order is the
+     *              numeric order of the value
+     * @param value int - Non-negative value below 26^STRING_KEY_LENGTH
+     * @returns String - Base-26 digits written as the letters a to z
+     */
+    private static String stringKey(int value) {
+        char[] key = new char[STRING_KEY_LENGTH];
+        for (int i = STRING_KEY_LENGTH - 1; i >= 0; i--) {
+            key[i] = (char) ('a' + value % 26);
+            value /= 26;
+        }
+        return new String(key);
+    }
+
+    /**
+     * @function stringSort
+     * @description Workload for a sort over String[] of lowercase keys
+     * @param sort Consumer - The sort to run
+     * @returns Supplier - Factory for fresh workloads
+     */
+    private static Supplier<Workload> stringSort(Consumer<String[]> sort) {
+        return arraySort(values -> Arrays.stream(values).mapToObj(sort_benchmark::stringKey).toArray(String[]::new),
+                sort, (arr, i) -> arr[i - 1].compareTo(arr[i]) <= 0);
+    }
+
+    /**
+     * @function utf8Sort
+     * @description Workload for a sort over UTF-8 encoded lowercase keys
+     * @param sort Consumer - The sort to run
+     * @returns Supplier - Factory for fresh workloads
+     */
+    private static Supplier<Workload> utf8Sort(Consumer<byte[][]> sort) {
+        return arraySort(values -> Arrays.stream(values)
+                .mapToObj(v -> stringKey(v).getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new),
+                sort, (arr, i) -> Arrays.compareUnsigned(arr[i - 1], arr[i]) <= 0);
+    }
+
+    /**
+     * @function entries
+     * @description Every public sort of an in-memory array in
+     *              Sorting_Algorithms/Java. Not included: the off-heap and
+     *              external sorts, which sort buffers and files; argsort,
+     *              sortByKey, topK and partialSort, which do not produce a
+     *              sorted copy of the input; sorting_network.sort, which only
+     *              handles tiny ranges; and the sorted iterators.
+     * @returns List - Benchmark entries
+     */
+    private static List<Entry> entries() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int all = Integer.MAX_VALUE;
+        List<Entry> list = new ArrayList<>();
+
+        list.add(new Entry("bubble_sort.bubbleSort", QUADRATIC_MAX_SIZE, false, false,
+                intSort(bubble_sort::bubbleSort)));
+        list.add(new Entry("bubble_sort.bubbleSortOptimized", QUADRATIC_MAX_SIZE, false, false,
+                intSort(bubble_sort::bubbleSortOptimized)));
+        list.add(new Entry("selection_sort.selectionSort", QUADRATIC_MAX_SIZE, false, false,
+                intSort(selection_sort::selectionSort)));
+        list.add(new Entry("selection_sort.selectionSortWithCallback", QUADRATIC_MAX_SIZE, false, false,
+                boxedSort(arr -> selection_sort.selectionSortWithCallback(arr,
+                        (a, b) -> Integer.compare((Integer) a, (Integer) b)))));
+        list.add(new Entry("insertion_sort.insertionSort", QUADRATIC_MAX_SIZE, false, false,
+                intSort(insertion_sort::insertionSort)));
+        list.add(new Entry("insertion_sort.insertionSortRecursive", QUADRATIC_MAX_SIZE, false, false,
+                intSort(arr -> insertion_sort.insertionSortRecursive(arr, arr.length))));
+        list.add(new Entry("insertion_sort.binaryInsertionSort", QUADRATIC_MAX_SIZE, false, false,
+                intSort(insertion_sort::binaryInsertionSort)));
+        list.add(new Entry("insertion_sort.insertionSortWithCallback", QUADRATIC_MAX_SIZE, false, false,
+                boxedSort(arr -> insertion_sort.insertionSortWithCallback(arr,
+                        (a, b) -> Integer.compare((Integer) a, (Integer) b)))));
+        list.add(new Entry("merge_sort.mergeSort", all, false, false, intSort(merge_sort::mergeSort)));
+        list.add(new Entry("merge_sort.mergeSortIterative", all, false, false,
+                intSort(merge_sort::mergeSortIterative)));
+        list.add(new Entry("merge_sort.mergeSortParallel", all, false, false,
+                intSort(arr -> merge_sort.mergeSortParallel(arr, threads))));
+        list.add(new Entry("merge_sort.adaptiveMergeSort", all, false, false,
+                intSort(merge_sort::adaptiveMergeSort)));
+        list.add(new Entry("quick_sort.quickSort", all, true, false, intSort(quick_sort::quickSort)));
+        list.add(new Entry("quick_sort.randomizedQuickSort", all, true, false,
+                intSort(quick_sort::randomizedQuickSort)));
+        list.add(new Entry("quick_sort.introSort", all, false, false, intSort(quick_sort::introSort)));
+        list.add(new Entry("heap_sort.heapSort", all, false, false, intSort(heap_sort::heapSort)));
+        list.add(new Entry("heap_sort.heapSortMinHeap", all, false, false,
+                intSort(arr -> {
+                    // Sorts descending; reverse so the output check applies
+                    heap_sort.heapSortMinHeap(arr);
+                    for (int i = 0, j = arr.length - 1; i < j; i++, j--) {
+                        int temp = arr[i];
+                        arr[i] = arr[j];
+                        arr[j] = temp;
+                    }
+                })));
+        list.add(new Entry("counting_sort.countingSort", all, false, true,
+                intSort(counting_sort::countingSort)));
+        list.add(new Entry("counting_sort.countingSortStable", all, false, true,
+                intSort(counting_sort::countingSortStable)));
+        list.add(new Entry("counting_sort.countingSortWithRange", all, false, true,
+                intSort(arr -> {
+                    // The caller supplies the range; finding it is part of the operation
+                    int min = Integer.MAX_VALUE;
+                    int max = Integer.MIN_VALUE;
+                    for (int value : arr) {
+                        min = Math.min(min, value);
+                        max = Math.max(max, value);
+                    }
+                    counting_sort.countingSortWithRange(arr, min, max);
+                })));
+        list.add(new Entry("counting_sort.countingSortForCharacters", all, false, false,
+                charSort(counting_sort::countingSortForCharacters)));
+        list.add(new Entry("counting_sort.countingSortParallel", all, false, false,
+                intSort(arr -> counting_sort.countingSortParallel(arr, threads))));
+        list.add(new Entry("radix_sort.radixSort", all, false, false, intSort(radix_sort::radixSort)));
+        list.add(new Entry("radix_sort.radixSortLSD", all, false, false, intSort(radix_sort::radixSortLSD)));
+        list.add(new Entry("radix_sort.radixSortMSD", all, false, false, intSort(radix_sort::radixSortMSD)));
+        list.add(new Entry("radix_sort.radixSortParallel", all, false, false,
+                intSort(arr -> radix_sort.radixSortParallel(arr, threads))));
+        list.add(new Entry("radix_sort.radixSortParallel(long[])", all, false, false,
+                longSort(arr -> radix_sort.radixSortParallel(arr, threads))));
+        list.add(new Entry("radix_sort.radixSortParallel(float[])", all, false, false,
+                floatSort(arr -> radix_sort.radixSortParallel(arr, threads))));
+        list.add(new Entry("radix_sort.radixSortParallel(double[])", all, false, false,
+                signedDoubleSort(arr -> radix_sort.radixSortParallel(arr, threads))));
+        list.add(new Entry("radix_sort.sortBy", all, false, false,
+                boxedSort(arr -> radix_sort.sortBy(arr, Integer::longValue))));
+        list.add(new Entry("radix_sort.sortByParallel", all, false, false,
+                boxedSort(arr -> radix_sort.sortBy(arr, Integer::longValue, threads))));
+        list.add(new Entry("radix_sort.radixSortForStrings", all, false, false,
+                stringSort(radix_sort::radixSortForStrings)));
+        list.add(new Entry("radix_sort.radixSortForUtf8", all, false, false,
+                utf8Sort(radix_sort::radixSortForUtf8)));
+        list.add(new Entry("bucket_sort.bucketSortInteger", all, false, false,
+                intSort(bucket_sort::bucketSortInteger)));
+        list.add(new Entry("bucket_sort.bucketSort", all, false, false, doubleSort(bucket_sort::bucketSort)));
+        list.add(new Entry("bucket_sort.bucketSortParallel", all, false, false,
+                doubleSort(arr -> bucket_sort.bucketSortParallel(arr, threads))));
+        list.add(new Entry("bucket_sort.bucketSortWithCustomBuckets", all, false, false,
+                doubleSort(arr -> bucket_sort.bucketSortWithCustomBuckets(arr, Math.max(1, arr.length / 8)))));
+        list.add(new Entry("bucket_sort.bucketSortForStrings", all, false, false,
+                stringSort(bucket_sort::bucketSortForStrings)));
+        // Buckets by hash code rather than by value, so most inputs come back INVALID
+        list.add(new Entry("bucket_sort.bucketSortWithComparator", all, false, false,
+                boxedSort(arr -> bucket_sort.bucketSortWithComparator(arr, Integer::compare))));
+        list.add(new Entry("sample_sort.sampleSort", all, false, false, intSort(sample_sort::sampleSort)));
+        list.add(new Entry("sample_sort.sampleSortParallel", all, false, false,
+                intSort(arr -> sample_sort.sampleSortParallel(arr, threads))));
+        list.add(new Entry("auto_sorter.sort", all, false, false, intSort(new auto_sorter()::sort)));
+        return list;
+    }
+
+    /**
+     * @function generate
+     * @description Builds input data for a distribution; the seed is fixed so
+     *              every fork and algorithm sees the same values
+     * @param distribution String - random, sorted, reversed, few-unique or zipf
+     * @param size         int - Number of values
+     * @returns int[] - Generated values, all in [0, MAX_VALUE)
+     */
+    static int[] generate(String distribution, int size) {
+        Random random = new Random(42L * size + distribution.hashCode());
+        int[] data = new int[size];
+
+        switch (distribution) {
+            case "random":
+                for (int i = 0; i < size; i++) {
+                    data[i] = random.nextInt(MAX_VALUE);
+                }
+                break;
+            case "sorted":
+            case "reversed":
+                for (int i = 0; i < size; i++) {
+                    data[i] = random.nextInt(MAX_VALUE);
+                }
+                Arrays.sort(data);
+                if (distribution.equals("reversed")) {
+                    for (int i = 0, j = size - 1; i < j; i++, j--) {
+                        int temp = data[i];
+                        data[i] = data[j];
+                        data[j] = temp;
+                    }
+                }
+                break;
+            case "few-unique":
+                for (int i = 0; i < size; i++) {
+                    data[i] = random.nextInt(FEW_UNIQUE_VALUES) * (MAX_VALUE / FEW_UNIQUE_VALUES);
+                }
+                break;
+            case "zipf":
+                // Zipf(s = 1) over up to a million ranks via the inverse CDF
+                int ranks = Math.min(size, 1_000_000);
+                double[] cumulative = new double[ranks];
+                double total = 0;
+                for (int r = 0; r < ranks; r++) {
+                    total += 1.0 / (r + 1);
+                    cumulative[r] = total;
+                }
+                for (int i = 0; i < size; i++) {
+                    int rank = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+                    data[i] = rank < 0 ? -rank - 1 : rank;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown distribution: " + distribution);
+        }
+        return data;
+    }
+
+    /**
+     * @function measure
+     * @description Runs warmup and measurement iterations of one case in this
+     *              JVM and returns the result as a JSON object
+     * @param entry        Entry - Sort to measure
+     * @param distribution String - Input distribution
+     * @param size         int - Input size
+     * @param data         int[] - Input values
+     * @param warmup       int - Warmup iterations
+     * @param iterations   int - Measurement iterations
+     * @param iterationMs  long - Target time per iteration in milliseconds
+     * @returns String - JSON result
+     */
+    private static String measure(Entry entry, String distribution, int size, int[] data, int warmup,
+            int iterations, long iterationMs) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Workload workload = entry.workload.get();
+        long checksum = 0;
+
+        for (int i = 0; i < warmup; i++) {
+            checksum += runIteration(workload, data, iterationMs, null, null);
+        }
+
+        // Check the output once before trusting the numbers
+        workload.reset(data);
+        workload.sortOnce();
+        boolean valid = workload.isSorted();
+
+        double[] opsPerSecond = new double[iterations];
+        long totalOps = 0;
+        long totalNanos = 0;
+        long totalBytes = 0;
+        for (int i = 0; i < iterations; i++) {
+            long[] stats = new long[3];
+            checksum += runIteration(workload, data, iterationMs, threads, stats);
+            opsPerSecond[i] = stats[0] * 1e9 / Math.max(1, stats[1]);
+            totalOps += stats[0];
+            totalNanos += stats[1];
+            totalBytes += stats[2];
+        }
+        sink = checksum;
+
+        double mean = Arrays.stream(opsPerSecond).average().orElse(0);
+        double variance = 0;
+        for (double score : opsPerSecond) {
+            variance += (score - mean) * (score - mean);
+        }
+        double error = iterations > 1 ? Math.sqrt(variance / (iterations - 1)) : 0;
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("benchmark", entry.name);
+        json.put("distribution", distribution);
+        json.put("size", size);
+        json.put("mode", "thrpt");
+        json.put("scoreUnit", "ops/s");
+        json.put("score", mean);
+        json.put("scoreError", error);
+        json.put("nsPerOp", (double) totalNanos / Math.max(1, totalOps));
+        json.put("gcAllocRateNorm", (double) totalBytes / Math.max(1, totalOps));
+        json.put("gcAllocRateMBPerSec", totalBytes / 1e6 / Math.max(1e-9, totalNanos / 1e9));
+        json.put("warmupIterations", warmup);
+        json.put("iterations", iterations);
+        json.put("valid", valid);
+        return toJson(json);
+    }
+
+    /**
+     * @function runIteration
+     * @description Sorts fresh copies of the input until the iteration time is
+     *              used up. Only the sort itself is timed.
+     * @param workload    Workload - Sort under test
+     * @param data        int[] - Input values
+     * @param iterationMs long - Target time in milliseconds
+     * @param threads     ThreadMXBean - Allocation counters, or null
+     * @param stats       long[] - Receives operations, sort nanoseconds and
+     *                    allocated bytes, or null
+     * @returns long - Checksum of the sorted outputs
+     */
+    private static long runIteration(Workload workload, int[] data, long iterationMs,
+            com.sun.management.ThreadMXBean threads, long[] stats) {
+        long deadline = System.nanoTime() + iterationMs * 1_000_000;
+        // Reading the counters allocates too; measure that once and subtract it
+        long overhead = 0;
+        if (threads != null) {
+            long before = allocatedBytes(threads);
+            overhead = allocatedBytes(threads) - before;
+        }
+        long checksum = 0;
+        long ops = 0;
+        long nanos = 0;
+        long bytes = 0;
+
+        do {
+            workload.reset(data);
+            long allocatedBefore = threads == null ? 0 : allocatedBytes(threads);
+            long start = System.nanoTime();
+            workload.sortOnce();
+            nanos += System.nanoTime() - start;
+            if (threads != null) {
+                bytes += Math.max(0, allocatedBytes(threads) - allocatedBefore - overhead);
+            }
+            checksum += workload.checksum();
+            ops++;
+        } while (System.nanoTime() < deadline);
+
+        if (stats != null) {
+            stats[0] = ops;
+            stats[1] = nanos;
+            stats[2] = bytes;
+        }
+        return checksum;
+    }
+
+    /**
+     * @function allocatedBytes
+     * @description Bytes allocated so far by all live threads. Allocation by
+     *              threads that exit during a measurement (such as the workers
+     *              of a pool that is shut down) is not included.
+     * @param threads ThreadMXBean - HotSpot thread bean
+     * @returns long - Total allocated bytes
+     */
+    private static long allocatedBytes(com.sun.management.ThreadMXBean threads) {
+        long total = 0;
+        for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (bytes > 0) {
+                total += bytes;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @function fork
+     * @description Runs one case in a fresh JVM with the same class path and JVM
+     *              options and returns its JSON result
+     * @param args String[] - Arguments for the child's --run mode
+     * @returns String - JSON result, or null if the child failed
+     * @throws IOException - If the child process cannot be started
+     * @throws InterruptedException - If interrupted while waiting for the child
+     */
+    private static String fork(List<String> args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(sort_benchmark.class.getName());
+        command.addAll(args);
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String result = null;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(RESULT_PREFIX)) {
+                    result = line.substring(RESULT_PREFIX.length());
+                } else {
+                    System.out.println("  [fork] " + line);
+                }
+            }
+        }
+        return process.waitFor() == 0 ? result : null;
+    }
+
+    /**
+     * @function summary
+     * @description Extracts the console columns from a JSON result
+     * @param json String - JSON result
+     * @returns String - Score, ns/op and bytes/op
+     */
+    private static String summary(String json) {
+        return String.format("%14.1f ops/s %14.0f ns/op %14.0f B/op%s",
+                jsonNumber(json, "score"), jsonNumber(json, "nsPerOp"), jsonNumber(json, "gcAllocRateNorm"),
+                json.contains("\"valid\": true") ? "" : "  INVALID OUTPUT");
+    }
+
+    /**
+     * @function jsonNumber
+     * @description Reads a numeric field from a flat JSON object
+     * @param json String - JSON object produced by toJson
+     * @param key  String - Field name
+     * @returns double - Field value, or NaN if absent or null
+     */
+    private static double jsonNumber(String json, String key) {
+        int start = json.indexOf("\"" + key + "\": ");
+        if (start < 0) {
+            return Double.NaN;
+        }
+        start += key.length() + 4;
+        int end = start;
+        while (end < json.length() && json.charAt(end) != ',' && json.charAt(end) != '}') {
+            end++;
+        }
+        String value = json.substring(start, end);
+        return value.equals("null") ? Double.NaN : Double.parseDouble(value);
+    }
+
+    /**
+     * @function toJson
+     * @description Serializes a flat map of strings, numbers and booleans
+     * @param values Map - Values to serialize
+     * @returns String - JSON object
+     */
+    private static String toJson(Map<String, Object> values) {
+        StringBuilder json = new StringBuilder("{");
+        for (Map.Entry<String, Object> e : values.entrySet()) {
+            if (json.length() > 1) {
+                json.append(", ");
+            }
+            json.append('"').append(e.getKey()).append("\": ");
+            Object value = e.getValue();
+            if (value instanceof String) {
+                json.append('"').append(((String) value).replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+            } else if (value instanceof Double && !Double.isFinite((Double) value)) {
+                json.append("null");
+            } else {
+                json.append(value);
+            }
+        }
+        return json.append('}').toString();
+    }
+
+    /**
+     * @function main
+     * @description Runs the benchmark suite; see the class comment for options.
+     *              The defaults run in-process and finish in about a minute;
+     *              pass --forks 1 or more for isolated, publishable numbers.
+     * @param args String[] - Command line arguments
+     * @returns void
+     * @throws Exception - If a fork cannot be run or the output cannot be written
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("--sizes", "1000,10000");
+        options.put("--distributions", "random,sorted,reversed,few-unique,zipf");
+        options.put("--include", ".*");
+        options.put("--forks", "0");
+        options.put("--warmup", "1");
+        options.put("--iterations", "3");
+        options.put("--iteration-ms", "50");
+        options.put("--output", "sort_benchmark_results.json");
+        boolean child = false;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--run")) {
+                child = true;
+            } else if (options.containsKey(args[i]) && i + 1 < args.length) {
+                options.put(args[i], args[++i]);
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        int forks = Integer.parseInt(options.get("--forks"));
+        int warmup = Integer.parseInt(options.get("--warmup"));
+        int iterations = Integer.parseInt(options.get("--iterations"));
+        long iterationMs = Long.parseLong(options.get("--iteration-ms"));
+        String[] distributions = options.get("--distributions").split(",");
+        int[] sizes = Arrays.stream(options.get("--sizes").split(",")).mapToInt(Integer::parseInt).toArray();
+
+        if (!child) {
+            System.out.println("Sort Benchmark");
+            System.out.println("==============");
+        }
+
+        List<String> results = new ArrayList<>();
+        for (String distribution : distributions) {
+            for (int size : sizes) {
+                int[] data = generate(distribution, size);
+                long valueRange = size == 0 ? 0
+                        : (long) Arrays.stream(data).max().getAsInt() - Arrays.stream(data).min().getAsInt() + 1;
+
+                for (Entry entry : entries()) {
+                    if (!entry.name.matches(options.get("--include"))
+                            || !entry.supports(distribution, size, valueRange)) {
+                        continue;
+                    }
+
+                    if (child) {
+                        System.out.println(RESULT_PREFIX
+                                + measure(entry, distribution, size, data, warmup, iterations, iterationMs));
+                        continue;
+                    }
+
+                    for (int f = 0; f < Math.max(1, forks); f++) {
+                        String result;
+                        if (forks == 0) {
+                            result = measure(entry, distribution, size, data, warmup, iterations, iterationMs);
+                        } else {
+                            result = fork(Arrays.asList("--run", "--sizes", Integer.toString(size),
+                                    "--distributions", distribution, "--include", Pattern.quote(entry.name),
+                                    "--warmup", Integer.toString(warmup), "--iterations", Integer.toString(iterations),
+                                    "--iteration-ms", Long.toString(iterationMs)));
+                        }
+                        if (result == null) {
+                            System.out.printf("%-40s %-11s %10d  FAILED%n", entry.name, distribution, size);
+                            continue;
+                        }
+                        results.add(result);
+                        System.out.printf("%-40s %-11s %10d  %s%n", entry.name, distribution, size, summary(result));
+                    }
+                }
+            }
+        }
+
+        if (!child) {
+            Path output = Paths.get(options.get("--output"));
+            Files.write(output, ("[\n  " + String.join(",\n  ", results) + "\n]\n").getBytes(StandardCharsets.UTF_8));
+            System.out.println("\nResults written to " + output.toAbsolutePath());
+        }
+    }
+}
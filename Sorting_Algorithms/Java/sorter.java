@@ -0,0 +1,60 @@
+
+/**
+ * @file sorter.java
+ * @description Common interface implemented by the sorting algorithms in this
+ *              directory
+ * @author Algorithm Collection
+ * @version 1.0
+ */
+
+import java.util.Arrays;
+
+/**
+ * @interface Sorter
+ * @description An algorithm that sorts an int array in ascending order, in
+ *              place. Each sorting class implements it with its preferred
+ *              general-purpose variant so callers (and auto_sorter) can pick an
+ *              algorithm at run time.
+ */
+public interface sorter {
+
+    /**
+     * @function sort
+     * @description Sorts the array in ascending order
+     * @param arr int[] - Array to be sorted
+     * @returns void - Sorts the array in place
+     */
+    void sort(int[] arr);
+
+    /**
+     * @function name
+     * @description Name used when reporting which algorithm was chosen
+     * @returns String - The implementing class name
+     */
+    default String name() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * @function main
+     * @description Runs every sorter implementation on the same input
+     * @param args String[] - Command line arguments
+     * @returns void
+     */
+    static void main(String[] args) {
+        System.out.println("Sorter Implementations");
+        System.out.println("======================");
+
+        sorter[] sorters = { new bubble_sort(), new selection_sort(), new insertion_sort(), new merge_sort(),
+                new quick_sort(), new heap_sort(), new counting_sort(), new radix_sort(), new bucket_sort(),
+                new sample_sort(), new auto_sorter() };
+        int[] input = { 64, -34, 25, 12, 22, -11, 90, 12 };
+        System.out.println("Input: " + Arrays.toString(input));
+
+        for (sorter s : sorters) {
+            int[] arr = input.clone();
+            s.sort(arr);
+            System.out.println(s.name() + ": " + Arrays.toString(arr));
+        }
+    }
+}
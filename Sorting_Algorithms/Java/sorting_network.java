@@ -0,0 +1,273 @@
+
+/**
+ * @file sorting_network.java
+ * @description Sorting networks for the small ranges left at the bottom of the
+ *              recursive sorts
+ * @author Algorithm Collection
+ * @version 1.0
+ */
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * @class SortingNetwork
+ * @description Sorts ranges of up to MAX_SIZE ints or longs with a fixed
+ *              sequence of compare-exchange steps (Batcher's odd-even merge
+ *              sort). Which pairs are compared does not depend on the data, and
+ *              each compare-exchange is a min/max pair that the JIT compiles to
+ *              conditional moves, so there are no mispredicted branches, unlike
+ *              insertion sort on random input. quick_sort and merge_sort use it
+ *              as their leaf case.
+ */
+public class sorting_network {
+
+    // Largest range a network is built for
+    public static final int MAX_SIZE = 64;
+
+    // NETWORKS[n] holds the comparator pairs (i, j), i < j, that sort n elements
+    private static final int[][] NETWORKS = new int[MAX_SIZE + 1][];
+
+    static {
+        for (int n = 0; n <= MAX_SIZE; n++) {
+            // Comparators touching an index >= n would always see the larger
+            // value at j if the missing elements were +infinity, so dropping
+            // them from the next power-of-two network leaves a valid one for n
+            int[] full = batcherNetwork(Integer.highestOneBit(Math.max(1, n - 1)) << 1);
+            int count = 0;
+            for (int c = 0; c < full.length; c += 2) {
+                if (full[c + 1] < n) {
+                    count += 2;
+                }
+            }
+            int[] network = new int[count];
+            int k = 0;
+            for (int c = 0; c < full.length; c += 2) {
+                if (full[c + 1] < n) {
+                    network[k++] = full[c];
+                    network[k++] = full[c + 1];
+                }
+            }
+            NETWORKS[n] = network;
+        }
+    }
+
+    /**
+     * @function batcherNetwork
+     * @description Builds Batcher's odd-even merge sort network
+     * @param size int - Number of inputs, a power of two
+     * @returns int[] - Comparator pairs, two ints per comparator
+     */
+    private static int[] batcherNetwork(int size) {
+        int[] pairs = new int[size * size];
+        int count = 0;
+
+        for (int p = 1; p < size; p <<= 1) {
+            for (int k = p; k >= 1; k >>= 1) {
+                for (int j = k % p; j + k < size; j += 2 * k) {
+                    for (int i = 0; i < k && i + j + k < size; i++) {
+                        // Only compare elements that belong to the same merge
+                        if ((i + j) / (2 * p) == (i + j + k) / (2 * p)) {
+                            pairs[count++] = i + j;
+                            pairs[count++] = i + j + k;
+                        }
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(pairs, count);
+    }
+
+    /**
+     * @function comparators
+     * @description Number of compare-exchange steps used for n elements
+     * @param n int - Range size, at most MAX_SIZE
+     * @returns int - Comparator count
+     */
+    public static int comparators(int n) {
+        return NETWORKS[n].length / 2;
+    }
+
+    /**
+     * @function sort
+     * @description Sorts arr[low..high] with the network for its size
+     * @param arr  int[] - Array containing the range
+     * @param low  int - Starting index
+     * @param high int - Ending index (inclusive), at most MAX_SIZE - 1 past low
+     * @returns void
+     * @throws IllegalArgumentException - If the range is longer than MAX_SIZE
+     */
+    public static void sort(int[] arr, int low, int high) {
+        int n = high - low + 1;
+        if (n > MAX_SIZE) {
+            throw new IllegalArgumentException("Range too large for a sorting network: " + n);
+        }
+        if (n <= 1) {
+            return;
+        }
+
+        int[] network = NETWORKS[n];
+        for (int c = 0; c < network.length; c += 2) {
+            int i = low + network[c];
+            int j = low + network[c + 1];
+            int a = arr[i];
+            int b = arr[j];
+            arr[i] = Math.min(a, b);
+            arr[j] = Math.max(a, b);
+        }
+    }
+
+    /**
+     * @function sort
+     * @description Sorts arr[low..high] with the network for its size
+     * @param arr  long[] - Array containing the range
+     * @param low  int - Starting index
+     * @param high int - Ending index (inclusive), at most MAX_SIZE - 1 past low
+     * @returns void
+     * @throws IllegalArgumentException - If the range is longer than MAX_SIZE
+     */
+    public static void sort(long[] arr, int low, int high) {
+        int n = high - low + 1;
+        if (n > MAX_SIZE) {
+            throw new IllegalArgumentException("Range too large for a sorting network: " + n);
+        }
+        if (n <= 1) {
+            return;
+        }
+
+        int[] network = NETWORKS[n];
+        for (int c = 0; c < network.length; c += 2) {
+            int i = low + network[c];
+            int j = low + network[c + 1];
+            long a = arr[i];
+            long b = arr[j];
+            arr[i] = Math.min(a, b);
+            arr[j] = Math.max(a, b);
+        }
+    }
+
+    /**
+     * @function testSortingNetwork
+     * @description Checks every network size, exhaustively on 0/1 inputs for the
+     *              small ones (a network that sorts all 0/1 inputs sorts
+     *              everything) and on random ints and longs for all sizes
+     * @returns void
+     */
+    public static void testSortingNetwork() {
+        System.out.println("Testing Sorting Network:");
+        System.out.println("========================");
+
+        boolean passed = true;
+        for (int n = 1; n <= 16; n++) {
+            for (int mask = 0; mask < (1 << n) && passed; mask++) {
+                int[] bits = new int[n];
+                for (int i = 0; i < n; i++) {
+                    bits[i] = (mask >>> i) & 1;
+                }
+                int[] expected = bits.clone();
+                Arrays.sort(expected);
+                sort(bits, 0, n - 1);
+                passed = Arrays.equals(bits, expected);
+            }
+        }
+        System.out.println("0/1 inputs, sizes 1-16: " + (passed ? "PASSED" : "FAILED"));
+
+        Random random = new Random(7);
+        passed = true;
+        for (int n = 1; n <= MAX_SIZE; n++) {
+            for (int trial = 0; trial < 200; trial++) {
+                int[] ints = new int[n + 4];
+                long[] longs = new long[n + 4];
+                for (int i = 0; i < ints.length; i++) {
+                    ints[i] = random.nextInt(trial % 2 == 0 ? 8 : Integer.MAX_VALUE) - (trial % 3 == 0 ? 4 : 0);
+                    longs[i] = random.nextLong();
+                }
+                int[] expectedInts = ints.clone();
+                long[] expectedLongs = longs.clone();
+                Arrays.sort(expectedInts, 2, n + 2);
+                Arrays.sort(expectedLongs, 2, n + 2);
+
+                sort(ints, 2, n + 1);
+                sort(longs, 2, n + 1);
+                passed &= Arrays.equals(ints, expectedInts) && Arrays.equals(longs, expectedLongs);
+            }
+        }
+        System.out.println("Random ints and longs, sizes 1-" + MAX_SIZE + ": " + (passed ? "PASSED" : "FAILED"));
+
+        System.out.println("Comparators for 8 / 16 / 32 / 64 elements: " + comparators(8) + " / "
+                + comparators(16) + " / " + comparators(32) + " / " + comparators(64));
+        System.out.println();
+    }
+
+    /**
+     * @function performanceTest
+     * @description Compares the networks with insertion sort on many small
+     *              random ranges. The first round warms up the JIT; both rounds
+     *              are printed.
+     * @returns void
+     */
+    public static void performanceTest() {
+        System.out.println("Performance Test:");
+        System.out.println("=================");
+
+        Random random = new Random(42);
+        int[] source = new int[1 << 20];
+        for (int i = 0; i < source.length; i++) {
+            source[i] = random.nextInt();
+        }
+
+        for (int round = 0; round < 2; round++) {
+            for (int size : new int[] { 8, 16, 32, 64 }) {
+                int[] arr = source.clone();
+                long start = System.nanoTime();
+                for (int low = 0; low + size <= arr.length; low += size) {
+                    sort(arr, low, low + size - 1);
+                }
+                long networkTime = System.nanoTime() - start;
+
+                arr = source.clone();
+                start = System.nanoTime();
+                for (int low = 0; low + size <= arr.length; low += size) {
+                    insertionSort(arr, low, low + size - 1);
+                }
+                long insertionTime = System.nanoTime() - start;
+
+                System.out.printf("Blocks of %2d: network %.2f ms, insertion sort %.2f ms%n", size,
+                        networkTime / 1_000_000.0, insertionTime / 1_000_000.0);
+            }
+        }
+        System.out.println();
+    }
+
+    /**
+     * @function insertionSort
+     * @description Insertion sort on arr[low..high], the baseline for comparison
+     * @param arr  int[] - Array containing the range
+     * @param low  int - Starting index
+     * @param high int - Ending index
+     * @returns void
+     */
+    private static void insertionSort(int[] arr, int low, int high) {
+        for (int i = low + 1; i <= high; i++) {
+            int key = arr[i];
+            int j = i - 1;
+
+            while (j >= low && arr[j] > key) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = key;
+        }
+    }
+
+    /**
+     * @function main
+     * @description Main function to run tests
+     * @param args String[] - Command line arguments
+     * @returns void
+     */
+    public static void main(String[] args) {
+        testSortingNetwork();
+        performanceTest();
+    }
+}
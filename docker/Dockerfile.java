@@ -22,7 +22,7 @@ ENV JAVA_HOME="/usr/local/openjdk-17"
 ENV PATH="${JAVA_HOME}/bin:${PATH}"
 
 # Compile Java files
-RUN find . -name "*.java" -exec javac -d build {} \;
+RUN find . -name "*.java" -exec sh -c 'javac -sourcepath "$(dirname "$1")" -d build "$1"' _ {} \;
 
 # Default command
 CMD ["java", "-cp", "build", "Main"]
@@ -387,7 +387,7 @@ class AlgorithmAPIServer {
             let command;
             switch (language) {
                 case 'java':
-                    command = `javac -d "${buildDir}" "${filePath}"`;
+                    command = `javac -sourcepath "${path.dirname(filePath)}" -d "${buildDir}" "${filePath}"`;
                     break;
                 case 'c':
                     const cOutput = path.join(buildDir, path.basename(filePath, '.c'));
@@ -222,7 +222,7 @@ class PerformanceAnalyzer {
         let command;
         switch (language) {
             case 'java':
-                command = `javac -d "${buildDir}" "${filePath}"`;
+                command = `javac -sourcepath "${path.dirname(filePath)}" -d "${buildDir}" "${filePath}"`;
                 break;
             case 'c':
                 command = `gcc "${filePath}" -o "${outputPath}"`;
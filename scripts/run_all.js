@@ -298,7 +298,7 @@ class AlgorithmRunner {
                     // Compile first, then run
                     const className = path.basename(filePath, '.java');
                     const buildDir = path.join(process.cwd(), 'build');
-                    execSync(`javac -d "${buildDir}" "${filePath}"`, { stdio: 'pipe' });
+                    execSync(`javac -sourcepath "${path.dirname(filePath)}" -d "${buildDir}" "${filePath}"`, { stdio: 'pipe' });
                     command = `java -cp "${buildDir}" ${className}`;
                     break;
                 case 'gcc':